@@ -0,0 +1,39 @@
+@echo off
+rem Runs a module jar with the class-data-sharing archive next to it. The archive is built by the
+rem cdsArchive task; if it is missing or was dumped by a different JDK, this run recreates it.
+rem
+rem Usage: bin\aptcrawler [core|http|selenium] [args...]    (the module defaults to selenium)
+
+setlocal
+set ROOT=%~dp0..
+
+set MODULE=selenium
+if "%~1"=="core" set MODULE=core
+if "%~1"=="http" set MODULE=http
+if "%~1"=="selenium" set MODULE=selenium
+if "%~1"=="%MODULE%" shift
+
+rem Only the shadow jar is runnable; libs also holds the plain <module>-<version>.jar. The names
+rem follow shadowJar's archiveFileName in build.gradle and selenium\build.gradle.
+set PATTERN=APTCrawler-%MODULE%-*.jar
+if "%MODULE%"=="selenium" set PATTERN=APTCrawler-*.jar
+
+set JAR=
+for %%f in ("%ROOT%\%MODULE%\build\libs\%PATTERN%") do set JAR=%%~ff
+if "%JAR%"=="" (
+  echo No %MODULE% jar found; run 'gradle :%MODULE%:build' first 1>&2
+  exit /b 1
+)
+
+set JAVA=java
+if defined JAVA_HOME set JAVA=%JAVA_HOME%\bin\java
+
+set ARGS=
+:collect
+if "%~1"=="" goto run
+set ARGS=%ARGS% %1
+shift
+goto collect
+
+:run
+"%JAVA%" -XX:SharedArchiveFile="%JAR:~0,-4%.jsa" -XX:+AutoCreateSharedArchive %JAVA_OPTS% -jar "%JAR%"%ARGS%
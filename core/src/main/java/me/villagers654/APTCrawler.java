@@ -0,0 +1,573 @@
+package me.villagers654;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class APTCrawler {
+  private static final Logger LOGGER = LoggerFactory.getLogger(APTCrawler.class);
+
+    /**
+   * Formats the Java code by ensuring that all non-void methods have a return statement.
+   *
+   * @param code The original Java code as a string.
+   * @return The formatted Java code with necessary return statements appended.
+   */
+  public static String formatJavaCode(String code) {
+    // Step 1: Insert line breaks before and after braces to make parsing easier
+    code = code.replace("{", "{\n");
+    code = code.replace("}", "}\n");
+
+    StringBuilder formattedCode = new StringBuilder();
+    String[] lines = code.split("\n");
+    boolean inMethod = false;
+    String returnType = null;
+    boolean hasReturn = false;
+    int braceCount = 0; // To track nested braces within methods
+
+    for (int i = 0; i < lines.length; i++) {
+      String line = lines[i];
+      String trimmedLine = line.trim();
+      formattedCode.append(line).append("\n"); // Preserve original formatting
+
+      // Detect method signatures (public/protected/private, non-abstract, with return type)
+      if (!inMethod && trimmedLine.matches("^(public|protected|private)\\s+[^\\s]+\\s+\\w+\\s*\\([^)]*\\)\\s*\\{?$")) {
+        inMethod = true;
+
+          // Extract return type
+        String[] parts = trimmedLine.split("\\s+");
+        if (parts.length >= 3) {
+          returnType = parts[1];
+        } else {
+          returnType = "void";
+        }
+
+        // Check if the opening brace is on the same line
+        if (trimmedLine.endsWith("{")) {
+          braceCount = 1;
+        } else {
+          // If brace is on the next line
+          if (i + 1 < lines.length) {
+            i++;
+            String nextLine = lines[i].trim();
+            formattedCode.append(lines[i]).append("\n");
+            if (nextLine.equals("{")) {
+              braceCount = 1;
+            }
+          }
+        }
+        continue;
+      }
+
+      if (inMethod) {
+        // Update brace count
+        braceCount += countOccurrences(trimmedLine, '{');
+        braceCount -= countOccurrences(trimmedLine, '}');
+
+        // Check for return statement
+        if (trimmedLine.startsWith("return ")) {
+          hasReturn = true;
+        }
+
+        // If braceCount drops to 0, method ends
+        if (braceCount == 0) {
+          if (!hasReturn && !returnType.equals("void")) {
+            String defaultReturn = getDefaultReturn(returnType);
+              // Determine indentation (assume closing brace is aligned)
+              String indent = getIndentation(lines[i]);
+
+              if (trimmedLine.equals("}")) {
+                // Insert return statement before the closing brace
+                formattedCode.insert(formattedCode.lastIndexOf("}"), indent + "    " + defaultReturn + "\n");
+              } else {
+                // Split the line at the closing brace
+                int braceIndex = line.lastIndexOf('}');
+                String beforeBrace = line.substring(0, braceIndex).trim();
+                String afterBrace = line.substring(braceIndex).trim();
+
+                // Replace the current line with beforeBrace and return statement
+                formattedCode.setLength(formattedCode.length() - line.length());
+                formattedCode.append(beforeBrace).append("\n");
+                formattedCode.append(indent).append("    ").append(defaultReturn).append("\n");
+                formattedCode.append(indent).append(afterBrace).append("\n");
+              }
+          }
+          inMethod = false;
+          returnType = null;
+          hasReturn = false;
+        }
+      }
+    }
+
+    return formattedCode.toString();
+  }
+
+  /**
+   * Finds the first method signature in the formatted code using regex.
+   *
+   * @param formattedCode The formatted Java code.
+   * @return The method signature as a string, or null if not found.
+   */
+  public static String findFirstMethodSignature(String formattedCode) {
+    // Regex pattern to match method signatures
+    String methodSignaturePattern = "(public|protected|private)\\s+[^\\s]+\\s+\\w+\\s*\\([^)]*\\)";
+
+    Pattern pattern = Pattern.compile(methodSignaturePattern);
+    Matcher matcher = pattern.matcher(formattedCode);
+
+    if (matcher.find()) {
+      String match = matcher.group();
+      LOGGER.info("Detected Method Signature: {}", match);
+      return match;
+    }
+
+    LOGGER.error("No valid method signature found in the formatted code.");
+    return null;
+  }
+
+  /**
+   * Extracts the Java class skeleton from the first {@code <xmp>} tag of a problem page.
+   *
+   * @param doc The parsed problem page.
+   * @return The raw Java class code, or an empty string if the page has no {@code <xmp>} tag.
+   */
+  public static String extractSkeleton(Document doc) {
+    Elements xmpElements = doc.getElementsByTag("xmp");
+
+    if (!xmpElements.isEmpty()) {
+      String rawText = xmpElements.getFirst().html();
+      LOGGER.info("Extracted class code from <xmp> tag.");
+      return rawText;
+    } else {
+      LOGGER.error("No <xmp> tags found in the HTML.");
+      return "";
+    }
+  }
+
+  /**
+   * Processes the extracted test cases and writes them to the GeneratedTest.java file.
+   *
+   * @param doc             The HTML document containing test case data.
+   * @param methodSignature The signature of the method to be tested.
+   */
+  public static void doWork(Document doc, String methodSignature) {
+    doWork(doc, methodSignature, Path.of(OutputManager.GENERATED_TEST_FILE));
+  }
+
+  /**
+   * Processes the extracted test cases and writes them to the given file.
+   *
+   * @param doc             The HTML document containing test case data.
+   * @param methodSignature The signature of the method to be tested.
+   * @param outputFile      The file the generated test class is written to.
+   */
+  @SuppressWarnings("try")
+  public static void doWork(Document doc, String methodSignature, Path outputFile) {
+    String source = generateTestSource(doc, methodSignature);
+    if (source == null) {
+      return;
+    }
+
+    try (Trace.Span ignored = Trace.span("write")) {
+      OutputManager.writeAtomically(outputFile, source);
+      LOGGER.info("Java test file generated at: {}", outputFile);
+    } catch (IOException e) {
+      LOGGER.error("Error writing file: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Processes the extracted test cases into the source of the GeneratedTest class.
+   *
+   * @param doc             The HTML document containing test case data.
+   * @param methodSignature The signature of the method to be tested.
+   * @return The generated Java source, or null if the method signature cannot be parsed.
+   */
+  @SuppressWarnings("try")
+  public static String generateTestSource(Document doc, String methodSignature) {
+    MethodInfo methodInfo;
+    try {
+      methodInfo = parseMethodSignature(methodSignature);
+      LOGGER.debug("Parsed Method Name: {}", methodInfo.methodName);
+      LOGGER.debug("Parsed Return Type: {}", methodInfo.returnType);
+      LOGGER.debug("Parsed Parameter Types: {}", methodInfo.paramTypes);
+    } catch (IllegalArgumentException e) {
+      LOGGER.error("Error parsing method signature: {}", e.getMessage());
+      return null;
+    }
+
+    String methodName = methodInfo.methodName;
+    String returnType = methodInfo.returnType;
+    List<String> paramTypes = methodInfo.paramTypes;
+
+    List<TestCase> testCases = new ArrayList<>();
+    int duplicates = 0;
+    try (Trace.Span ignored = Trace.span("parse")) {
+      Elements rows = doc.select("table.border tr"); // Adjust the selector based on actual HTML
+
+      // Identical cases are kept once, then emitted smallest input first
+      Set<FailedCase> cases = new LinkedHashSet<>();
+      for (Element row : rows) {
+        FailedCase failedCase = extractFailedCase(row);
+        if (failedCase != null && !cases.add(failedCase)) {
+          duplicates++;
+        }
+      }
+      List<FailedCase> ordered = new ArrayList<>(cases);
+      ordered.sort(Comparator.comparingInt(failedCase -> failedCase.got().length()));
+
+      ParameterFormatter parameterFormatter = new ParameterFormatter(paramTypes);
+      for (FailedCase failedCase : ordered) {
+        int index = testCases.size() + 1;
+        String constant = "EXPECTED_" + index;
+        String parameters = formatArguments(failedCase, parameterFormatter);
+        testCases.add(
+            new TestCase(
+                "    private static final " + returnType + " " + constant + " = "
+                    + formatExpected(failedCase, returnType) + ";\n",
+                checkStatement(index, methodName, parameters, constant)));
+      }
+    }
+
+    LOGGER.info(
+        "Total Test Cases Generated: {} ({} duplicates skipped)", testCases.size(), duplicates);
+    LOGGER.debug(
+        "Literal caches: parameters {}, expected {}",
+        LiteralCache.PARAMETERS,
+        LiteralCache.EXPECTED);
+
+    try (Trace.Span ignored = Trace.span("generate")) {
+      return buildTestSource(testCases);
+    }
+  }
+
+  /** A generated test case: the constant holding its expected value and the check using it. */
+  private record TestCase(String constant, String statement) {}
+
+  /**
+   * Assembles the GeneratedTest class around the generated test cases. Expected values are
+   * constants built once when the class loads, and results are compared by the {@code check}
+   * overloads of the precompiled runtime library, which also provides TreeNode and ListNode.
+   *
+   * @param testCases The test cases.
+   * @return The Java source.
+   */
+  private static String buildTestSource(List<TestCase> testCases) {
+    StringBuilder source = new StringBuilder();
+    source.append("// Compile and run with the APTCrawler-runtime jar on the classpath\n");
+    source.append("import java.util.Arrays;\n");
+    source.append("import java.util.List;\n");
+    source.append("import me.villagers654.runtime.ListNode;\n");
+    source.append("import me.villagers654.runtime.Nodes;\n");
+    source.append("import me.villagers654.runtime.TreeNode;\n\n");
+    source.append("import static me.villagers654.runtime.Checks.check;\n\n");
+    source.append("public class GeneratedTest {\n\n");
+    for (TestCase testCase : testCases) {
+      source.append(testCase.constant());
+    }
+    source.append("\n");
+    source.append("    public static void main(String[] args) {\n");
+    source.append("        runAllTests();\n");
+    source.append("    }\n\n");
+    source.append("    private static void runAllTests() {\n");
+    source.append("        boolean pass;\n\n");
+
+    for (TestCase testCase : testCases) {
+      source.append(testCase.statement());
+    }
+
+    source.append("    }\n\n");
+    source.append("}\n");
+    return source.toString();
+  }
+
+  /**
+   * Parses the method signature to extract the method name, return type, and parameter types.
+   *
+   * @param methodSignature The method signature as a string.
+   * @return A MethodInfo object containing the method name, return type, and a list of parameter types.
+   * @throws IllegalArgumentException If the method signature is malformed or null.
+   */
+  static MethodInfo parseMethodSignature(String methodSignature) {
+    if (methodSignature == null || methodSignature.isEmpty()) {
+      throw new IllegalArgumentException("Invalid method signature: Signature is null or empty.");
+    }
+
+    // Regex pattern to capture return type, method name, and parameters
+    String regex = "^(public|protected|private)\\s+([^\\s]+)\\s+(\\w+)\\s*\\(([^)]*)\\)";
+    Pattern pattern = Pattern.compile(regex);
+    Matcher matcher = pattern.matcher(methodSignature.trim());
+
+    if (!matcher.find()) {
+      throw new IllegalArgumentException("Invalid method signature format.");
+    }
+
+    String returnType = matcher.group(2).trim();
+    String methodName = matcher.group(3).trim();
+    String params = matcher.group(4).trim();
+
+    List<String> paramTypes = new ArrayList<>();
+    if (!params.isEmpty()) {
+      String[] paramArray = params.split(",");
+      for (String param : paramArray) {
+        param = param.trim();
+        String[] tokens = param.split("\\s+");
+        if (tokens.length < 2) {
+          throw new IllegalArgumentException("Invalid parameter format: " + param);
+        }
+        // Concatenate all tokens except the last one to form the type (handles types like "Map<String, Integer>")
+        StringBuilder typeBuilder = new StringBuilder();
+        for (int i = 0; i < tokens.length - 1; i++) {
+          typeBuilder.append(tokens[i]).append(" ");
+        }
+        String type = typeBuilder.toString().trim();
+        paramTypes.add(type);
+      }
+    }
+
+    return new MethodInfo(methodName, returnType, paramTypes);
+  }
+
+  /**
+   * Extracts data from a table row and formats it into a test case.
+   *
+   * @param row          The table row element containing the test case data.
+   * @param methodName   The name of the method to be tested.
+   * @param returnType   The return type of the method.
+   * @param paramTypes   The list of parameter types extracted from the method signature.
+   * @return A formatted test case string or null if the row doesn't represent a failed test.
+   */
+  public static String extractData(Element row, String methodName, String returnType, List<String> paramTypes) {
+    return extractData(row, methodName, returnType, new ParameterFormatter(paramTypes));
+  }
+
+  /**
+   * Extracts data from a table row and formats it into a test case, reusing codecs already
+   * resolved for the method signature. The expected value is written inline and compared by the
+   * runtime library's {@code check} overloads.
+   *
+   * @param row                The table row element containing the test case data.
+   * @param methodName         The name of the method to be tested.
+   * @param returnType         The return type of the method.
+   * @param parameterFormatter The formatter for the method's parameter types.
+   * @return A formatted test case string or null if the row doesn't represent a failed test.
+   */
+  public static String extractData(Element row, String methodName, String returnType, ParameterFormatter parameterFormatter) {
+    FailedCase failedCase = extractFailedCase(row);
+    if (failedCase == null) {
+      return null;
+    }
+    String parameters = formatArguments(failedCase, parameterFormatter);
+    return checkStatement(0, methodName, parameters, formatExpected(failedCase, returnType));
+  }
+
+  /** The raw expected and 'got' text of a failed row; equal cases compare equal. */
+  private record FailedCase(String expected, String got) {}
+
+  /**
+   * Reads the expected and 'got' text of a table row.
+   *
+   * @param row The table row element containing the test case data.
+   * @return The case, or null if the row doesn't represent a failed test.
+   */
+  private static FailedCase extractFailedCase(Element row) {
+    Elements cols = row.select("td");
+
+    if (cols.size() > 2) {
+      String status = cols.get(1).text().trim();
+      if (status.equalsIgnoreCase("fail")) {
+        Element expectedPreTag = cols.get(2).select("pre").first();
+        String expectedResult = (expectedPreTag != null) ? expectedPreTag.text().trim().replace("\"", "") : "null";
+
+        String gotText = extractGotText(cols.get(2));
+
+        // If 'got' text is still empty, log a warning and skip this test case
+        if (gotText.isEmpty()) {
+          LOGGER.warn("'got' value not found for test case.");
+          return null;
+        }
+
+        LOGGER.debug("Extracted 'got' value: {}", gotText);
+        return new FailedCase(expectedResult, gotText);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Formats a failed case's arguments, through the {@link LiteralCache} so that repeated inputs
+   * are only formatted once.
+   *
+   * @param failedCase         The case to format.
+   * @param parameterFormatter The formatter for the method's parameter types.
+   * @return The argument list.
+   */
+  private static String formatArguments(
+      FailedCase failedCase, ParameterFormatter parameterFormatter) {
+    String parameters =
+        LiteralCache.PARAMETERS.get(
+            parameterFormatter.getTypes(), failedCase.got(), parameterFormatter::format);
+    LOGGER.debug("Formatted parameters: {}", parameters);
+    return parameters;
+  }
+
+  /**
+   * Formats a failed case's expected value, through the {@link LiteralCache}.
+   *
+   * @param failedCase The case to format.
+   * @param returnType The return type of the method.
+   * @return The expected value as a Java expression.
+   */
+  private static String formatExpected(FailedCase failedCase, String returnType) {
+    return LiteralCache.EXPECTED.get(
+        returnType, failedCase.expected(), expected -> formatExpectedResult(expected, returnType));
+  }
+
+  /**
+   * Builds the statements that run one test case and print whether it passed.
+   *
+   * @param index      The case number reported on a mismatch.
+   * @param methodName The name of the method to be tested.
+   * @param parameters The argument list.
+   * @param expected   The expression holding the expected value.
+   * @return The test case statements.
+   */
+  private static String checkStatement(
+      int index, String methodName, String parameters, String expected) {
+    return "        pass = check(" + index + ", " + methodName + "(" + parameters + "), "
+            + expected + ");\n"
+            + "        System.out.println(\"Pass: \" + pass);\n\n";
+  }
+
+  /**
+   * Extracts the 'got' value from a result row's details cell: the text after its last
+   * {@code <pre>} tag, or the tag's own text if nothing follows it.
+   *
+   * @param cell The details cell of a result row.
+   * @return The 'got' value without quotes, or an empty string if the cell has none.
+   */
+  static String extractGotText(Element cell) {
+    // Attempt to extract 'got' value(s)
+    Element gotPreTag = cell.select("pre").last();
+    String gotText = "";
+
+    if (gotPreTag != null) {
+      // Attempt to get the next sibling after the last 'pre' tag
+      if (gotPreTag.nextSibling() != null) {
+        gotText = Objects.requireNonNull(gotPreTag.nextSibling()).outerHtml().trim().replace(": ", "").replace("\"", "");
+      } else {
+        // Fallback: try to get the text within the 'pre' tag
+        gotText = gotPreTag.text().trim().replace("\"", "");
+      }
+    }
+    return gotText;
+  }
+
+  /**
+   * Formats parameters based on their types.
+   *
+   * @param input      The raw parameter string from the test case.
+   * @param paramTypes The list of parameter types corresponding to the method signature.
+   * @return A formatted parameter string suitable for Java code.
+   */
+  public static String formatParameters(String input, List<String> paramTypes) {
+    return new ParameterFormatter(paramTypes).format(input.trim());
+  }
+
+  /**
+   * Formats the expected result with the codec for the return type, so that it reads exactly like
+   * an argument of that type would.
+   *
+   * @param expectedResult The expected result as a string.
+   * @param returnType     The return type of the method.
+   * @return A formatted expected result string suitable for Java code.
+   */
+  private static String formatExpectedResult(String expectedResult, String returnType) {
+    StringBuilder out = new StringBuilder(expectedResult.length() + 16);
+    TypeCodecs.forType(returnType.trim()).write(expectedResult, 0, expectedResult.length(), out);
+    return out.toString();
+  }
+
+  /**
+   * Counts the number of occurrences of a character in a string.
+   *
+   * @param str The string to search.
+   * @param c   The character to count.
+   * @return The number of occurrences.
+   */
+  private static int countOccurrences(String str, char c) {
+    int count = 0;
+    for (char ch : str.toCharArray()) {
+      if (ch == c) count++;
+    }
+    return count;
+  }
+
+  /**
+   * Retrieves the indentation (whitespace) from the beginning of a line.
+   *
+   * @param line The line of code.
+   * @return The indentation as a string.
+   */
+  private static String getIndentation(String line) {
+    StringBuilder indent = new StringBuilder();
+    for (char ch : line.toCharArray()) {
+      if (ch == ' ' || ch == '\t') {
+        indent.append(ch);
+      } else {
+        break;
+      }
+    }
+    return indent.toString();
+  }
+
+  /**
+   * Generates a default return statement based on the return type.
+   *
+   * @param returnType The return type of the method.
+   * @return The default return statement as a string.
+   */
+  private static String getDefaultReturn(String returnType) {
+    // Check if the return type is an array
+    if (returnType.endsWith("[]")) {
+      String baseType = returnType.substring(0, returnType.indexOf('['));
+      return "return new " + baseType + "[0];";
+    }
+
+    // Handle primitive and object types
+      return switch (returnType) {
+          case "int", "long", "short", "byte" -> "return 0;";
+          case "float", "double" -> "return 0.0;";
+          case "boolean" -> "return false;";
+          case "char" -> "return '\\0';";
+          default -> "return null;";
+      };
+  }
+
+  /**
+   * Helper class to store method information.
+   */
+  public static class MethodInfo {
+    String methodName;
+    String returnType;
+    List<String> paramTypes;
+
+    MethodInfo(String methodName, String returnType, List<String> paramTypes) {
+      this.methodName = methodName;
+      this.returnType = returnType;
+      this.paramTypes = paramTypes;
+    }
+  }
+}
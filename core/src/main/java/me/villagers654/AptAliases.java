@@ -0,0 +1,51 @@
+package me.villagers654;
+
+import java.util.Map;
+
+/**
+ * The APTs whose names differ between the problem page, the submission page and the solution
+ * class. Every other APT uses the name it was entered with everywhere.
+ */
+public final class AptAliases {
+
+  /**
+   * The names an APT goes by.
+   *
+   * @param name        The name the user entered, also used for the output directory.
+   * @param pageName    The name of the {@code newapt/<name>.html} problem page.
+   * @param problemName The value of the problem's radio button on the submission page.
+   * @param className   The solution's class name, and so its file name.
+   */
+  public record Apt(String name, String pageName, String problemName, String className) {}
+
+  private static final Map<String, Apt> ALIASES =
+      Map.of(
+          "SimpleWordGame",
+          new Apt("SimpleWordGame", "SimpleWordSearch", "SimpleWordSearch", "SimpleWordGame"),
+          "TxMsg",
+          new Apt("TxMsg", "TxMsg", "TxtMsg", "TxtMsg"));
+
+  private AptAliases() {}
+
+  /**
+   * @param name The APT name as entered, case sensitive.
+   * @return The names to use for that APT.
+   */
+  public static Apt resolve(String name) {
+    Apt alias = ALIASES.get(name);
+    return alias != null ? alias : new Apt(name, name, name, name);
+  }
+
+  /**
+   * @param problemName The value of a problem's radio button on the submission page.
+   * @return The aliased APT submitted under that name, or null if the APT is not aliased.
+   */
+  public static Apt forProblem(String problemName) {
+    for (Apt alias : ALIASES.values()) {
+      if (alias.problemName().equalsIgnoreCase(problemName)) {
+        return alias;
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,135 @@
+package me.villagers654;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Moves console log output off the calling threads. Once installed, {@code System.err}, which is
+ * where SLF4J's simple logger writes, only copies each line into a bounded queue and a daemon
+ * thread writes the queued lines to the real console. When the queue is full, callers block until
+ * there is room again, so lines are never dropped. The remaining lines are written out when the JVM
+ * exits.
+ *
+ * <p>Enabled unless the {@code aptcrawler.asyncLog} system property is {@code false}; {@code
+ * aptcrawler.logQueue} sets the number of queued lines (default 8192).
+ */
+public final class AsyncConsole {
+  // Marks the end of the queue for the writer thread
+  private static final byte[] END = new byte[0];
+
+  private static boolean installed;
+
+  private AsyncConsole() {}
+
+  /** Replaces {@code System.err} with the asynchronous stream, if enabled and not done already. */
+  public static synchronized void install() {
+    if (installed || !Boolean.parseBoolean(System.getProperty("aptcrawler.asyncLog", "true"))) {
+      return;
+    }
+    installed = true;
+
+    PrintStream console = System.err;
+    QueueStream queueStream =
+        new QueueStream(
+            console, new ArrayBlockingQueue<>(Integer.getInteger("aptcrawler.logQueue", 8192)));
+    PrintStream async = new PrintStream(new BufferedOutputStream(queueStream, 8192), true);
+
+    Thread writer = new Thread(queueStream::drain, "log-writer");
+    writer.setDaemon(true);
+    writer.start();
+
+    Runtime.getRuntime()
+        .addShutdownHook(
+            new Thread(
+                () -> {
+                  async.flush();
+                  queueStream.close();
+                  try {
+                    writer.join(5000);
+                  } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                  }
+                },
+                "log-shutdown"));
+
+    System.setErr(async);
+  }
+
+  /** Hands every write to the writer thread through the queue. */
+  private static class QueueStream extends OutputStream {
+    private final PrintStream console;
+    private final BlockingQueue<byte[]> queue;
+    private volatile boolean closed;
+
+    QueueStream(PrintStream console, BlockingQueue<byte[]> queue) {
+      this.console = console;
+      this.queue = queue;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      if (len == 0) {
+        return;
+      }
+      if (closed) {
+        // Lines logged by other shutdown hooks go straight to the console
+        console.write(b, off, len);
+        console.flush();
+        return;
+      }
+      try {
+        queue.put(Arrays.copyOfRange(b, off, off + len));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        console.write(b, off, len);
+      }
+    }
+
+    @Override
+    public void close() {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      try {
+        queue.put(END);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    /** Writes queued lines to the console until the end marker is reached. */
+    void drain() {
+      List<byte[]> batch = new ArrayList<>();
+      try {
+        while (true) {
+          batch.add(queue.take());
+          queue.drainTo(batch);
+          for (byte[] chunk : batch) {
+            if (chunk == END) {
+              console.flush();
+              return;
+            }
+            console.write(chunk, 0, chunk.length);
+          }
+          console.flush();
+          batch.clear();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -0,0 +1,188 @@
+package me.villagers654;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Formats a directory tree of archived solutions offline with {@link APTCrawler#formatJavaCode},
+ * in parallel on a fork-join pool. Files are read through NIO channels, memory-mapping the larger
+ * ones, and each formatted file is written to the same relative path under the output directory.
+ *
+ * <p>Usage: {@code BulkFormatter <sourceDir> <outputDir> [parallelism]}
+ */
+public class BulkFormatter {
+  private static final Logger LOGGER = LoggerFactory.getLogger(BulkFormatter.class);
+
+  // Files at least this large are memory-mapped instead of read into a heap buffer
+  private static final long MAP_THRESHOLD = 256 * 1024;
+  // Below this many files a task formats them itself instead of splitting further
+  private static final int BATCH_SIZE = 8;
+
+  private final Path sourceDir;
+  private final Path outputDir;
+  private final AtomicInteger files = new AtomicInteger();
+  private final AtomicInteger failures = new AtomicInteger();
+  private final AtomicInteger missingSignatures = new AtomicInteger();
+  private final AtomicLong bytesRead = new AtomicLong();
+  private final AtomicLong bytesWritten = new AtomicLong();
+
+  public BulkFormatter(Path sourceDir, Path outputDir) {
+    this.sourceDir = sourceDir;
+    this.outputDir = outputDir;
+  }
+
+  public static void main(String[] args) throws IOException {
+    AsyncConsole.install();
+    if (args.length < 2) {
+      System.err.println("Usage: BulkFormatter <sourceDir> <outputDir> [parallelism]");
+      System.exit(1);
+    }
+
+    Path sourceDir = Path.of(args[0]);
+    Path outputDir = Path.of(args[1]);
+    int parallelism =
+        args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+
+    BulkFormatter formatter = new BulkFormatter(sourceDir, outputDir);
+    long start = System.nanoTime();
+    formatter.run(parallelism);
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    System.out.printf(
+        "Formatted %d files (%d failed, %d without a method signature) in %.2f s%n",
+        formatter.files.get(),
+        formatter.failures.get(),
+        formatter.missingSignatures.get(),
+        seconds);
+    System.out.printf(
+        "%.1f files/s, %.2f MB/s read, %.2f MB/s written%n",
+        formatter.files.get() / seconds,
+        formatter.bytesRead.get() / 1e6 / seconds,
+        formatter.bytesWritten.get() / 1e6 / seconds);
+  }
+
+  /**
+   * Formats every {@code .java} file under the source directory.
+   *
+   * @param parallelism The number of worker threads.
+   * @throws IOException If the source directory cannot be walked.
+   */
+  public void run(int parallelism) throws IOException {
+    List<Path> sources;
+    try (Stream<Path> walk = Files.walk(sourceDir)) {
+      sources =
+          walk.filter(Files::isRegularFile)
+              .filter(path -> path.getFileName().toString().endsWith(".java"))
+              .toList();
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try {
+      pool.invoke(new FormatTask(sources, 0, sources.size()));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Formats one file.
+   *
+   * @param source The file to format.
+   */
+  private void formatFile(Path source) {
+    try {
+      String code = read(source);
+      String formattedCode = APTCrawler.formatJavaCode(code);
+      if (APTCrawler.findFirstMethodSignature(formattedCode) == null) {
+        missingSignatures.incrementAndGet();
+      }
+
+      Path target = outputDir.resolve(sourceDir.relativize(source).toString());
+      Path parent = target.getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      write(target, formattedCode);
+      files.incrementAndGet();
+    } catch (IOException e) {
+      failures.incrementAndGet();
+      LOGGER.error("Failed to format {}: {}", source, e.getMessage());
+    }
+  }
+
+  private String read(Path source) throws IOException {
+    try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+      long size = channel.size();
+      bytesRead.addAndGet(size);
+      if (size >= MAP_THRESHOLD) {
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        return StandardCharsets.UTF_8.decode(mapped).toString();
+      }
+
+      ByteBuffer buffer = ByteBuffer.allocate((int) size);
+      while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+        // Keep reading until the file is consumed
+      }
+      buffer.flip();
+      return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+  }
+
+  private void write(Path target, String code) throws IOException {
+    ByteBuffer buffer = ByteBuffer.wrap(code.getBytes(StandardCharsets.UTF_8));
+    bytesWritten.addAndGet(buffer.remaining());
+    try (FileChannel channel =
+        FileChannel.open(
+            target,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  /**
+   * Splits the file list in half until batches are small enough to format directly. Tasks only
+   * ever run in this JVM's pool, so the serial form ForkJoinTask inherits is never used.
+   */
+  @SuppressWarnings("serial")
+  private class FormatTask extends RecursiveAction {
+    private final List<Path> sources;
+    private final int from;
+    private final int to;
+
+    FormatTask(List<Path> sources, int from, int to) {
+      this.sources = sources;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= BATCH_SIZE) {
+        for (int i = from; i < to; i++) {
+          formatFile(sources.get(i));
+        }
+        return;
+      }
+      int mid = (from + to) >>> 1;
+      invokeAll(new FormatTask(sources, from, mid), new FormatTask(sources, mid, to));
+    }
+  }
+}
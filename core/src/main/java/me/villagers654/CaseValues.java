@@ -0,0 +1,625 @@
+package me.villagers654;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A test case's arguments as plain values, independent of any class loader, so they can be
+ * shrunk and then built into arguments for two different implementations of a method. Each
+ * parameter type maps to one representation:
+ *
+ * <ul>
+ *   <li>{@code T[]}, {@code List<T>} and {@code ListNode} - a {@code List} of element values
+ *   <li>{@code TreeNode} - a {@link Tree}, or null for the empty tree
+ *   <li>integral and floating point types - an {@code Integer}, {@code Long} or {@code Double},
+ *       parsed once so building arguments from them is cheap
+ *   <li>everything else, including {@code String} - the raw text of the value
+ * </ul>
+ *
+ * <p>Values are parsed from and rendered back to the grader's "got" text, with the same
+ * conventions as {@link TypeCodecs}: comma separated brackets for sequences and level-order
+ * {@code {1 2 x 3}} for trees.
+ */
+public final class CaseValues {
+
+  /** An immutable binary tree node; shrinking copies the path to a changed node. */
+  public record Tree(String value, Tree left, Tree right) {
+    int size() {
+      int size = 0;
+      Deque<Tree> stack = new ArrayDeque<>();
+      stack.push(this);
+      while (!stack.isEmpty()) {
+        Tree node = stack.pop();
+        size++;
+        if (node.left != null) {
+          stack.push(node.left);
+        }
+        if (node.right != null) {
+          stack.push(node.right);
+        }
+      }
+      return size;
+    }
+  }
+
+  private CaseValues() {}
+
+  /**
+   * Splits the "got" text into one value per parameter, using the same top-level separators as
+   * {@link ParameterFormatter}.
+   *
+   * @param got        The raw parameter text from the results table.
+   * @param paramTypes The parameter types, in order.
+   * @return The parsed values.
+   * @throws IllegalArgumentException If the text holds fewer values than there are parameters.
+   */
+  public static List<Object> parse(String got, List<String> paramTypes) {
+    List<String> tokens = new ArrayList<>();
+    int depth = 0;
+    boolean inQuotes = false;
+    int start = -1;
+    for (int i = 0; i <= got.length() && tokens.size() < paramTypes.size(); i++) {
+      char c = i < got.length() ? got.charAt(i) : ' ';
+      if (c == '"') {
+        inQuotes = !inQuotes;
+      } else if (!inQuotes && depth == 0 && (c == ',' || Character.isWhitespace(c))) {
+        if (start >= 0) {
+          tokens.add(got.substring(start, i));
+          start = -1;
+        }
+        continue;
+      } else if (!inQuotes && (c == '[' || c == '{')) {
+        depth++;
+      } else if (!inQuotes && (c == ']' || c == '}')) {
+        depth--;
+      }
+      if (start < 0) {
+        start = i;
+      }
+    }
+    if (tokens.size() < paramTypes.size()) {
+      throw new IllegalArgumentException(
+          "Expected " + paramTypes.size() + " values but found " + tokens.size() + ": " + got);
+    }
+
+    List<Object> values = new ArrayList<>(tokens.size());
+    for (int i = 0; i < tokens.size(); i++) {
+      values.add(parseValue(tokens.get(i), normalize(paramTypes.get(i))));
+    }
+    return values;
+  }
+
+  private static Object parseValue(String text, String type) {
+    String elementType = elementType(type);
+    if (elementType != null) {
+      List<Object> elements = new ArrayList<>();
+      for (String element : splitElements(text)) {
+        elements.add(parseValue(element, elementType));
+      }
+      return elements;
+    }
+    if (type.equals("TreeNode")) {
+      return parseTree(text);
+    }
+    try {
+      return switch (type) {
+        case "int", "Integer", "short", "Short", "byte", "Byte" -> Integer.valueOf(text.trim());
+        case "long", "Long" -> Long.valueOf(text.trim().replace("L", ""));
+        case "double", "Double", "float", "Float" -> Double.valueOf(text.trim());
+        default -> text;
+      };
+    } catch (NumberFormatException e) {
+      // Kept as text; the reference rejects it when the case is run
+      return text;
+    }
+  }
+
+  /** Splits {@code [a, [b, c], d]} into its top-level elements, trimmed. */
+  private static List<String> splitElements(String text) {
+    List<String> elements = new ArrayList<>();
+    String trimmed = text.trim();
+    if (trimmed.length() < 2 || trimmed.charAt(0) != '[') {
+      return elements;
+    }
+    int depth = 0;
+    int start = 1;
+    for (int i = 1; i < trimmed.length(); i++) {
+      char c = trimmed.charAt(i);
+      if (c == '[' || c == '{') {
+        depth++;
+      } else if ((c == ']' || c == '}') && i < trimmed.length() - 1) {
+        depth--;
+      } else if ((c == ',' && depth == 0) || i == trimmed.length() - 1) {
+        String element = trimmed.substring(start, i).trim();
+        if (!element.isEmpty() || c == ',') {
+          elements.add(element);
+        }
+        start = i + 1;
+      }
+    }
+    return elements;
+  }
+
+  private static Tree parseTree(String text) {
+    String inner = text.trim();
+    if (inner.length() < 2 || inner.equals("{}")) {
+      return null;
+    }
+    String[] values = inner.substring(1, inner.length() - 1).trim().split("\\s+");
+    if (values.length == 0 || values[0].equals("x")) {
+      return null;
+    }
+
+    // Level order with "x" for missing children, built bottom-up since nodes are immutable
+    int count = values.length;
+    int[] left = new int[count];
+    int[] right = new int[count];
+    List<Integer> queue = new ArrayList<>();
+    queue.add(0);
+    int index = 1;
+    for (int q = 0; q < queue.size(); q++) {
+      int node = queue.get(q);
+      left[node] = index < count && !values[index].equals("x") ? index : -1;
+      if (left[node] >= 0) {
+        queue.add(index);
+      }
+      index++;
+      right[node] = index < count && !values[index].equals("x") ? index : -1;
+      if (right[node] >= 0) {
+        queue.add(index);
+      }
+      index++;
+    }
+
+    Tree[] nodes = new Tree[count];
+    for (int q = queue.size() - 1; q >= 0; q--) {
+      int node = queue.get(q);
+      nodes[node] =
+          new Tree(
+              values[node],
+              left[node] >= 0 ? nodes[left[node]] : null,
+              right[node] >= 0 ? nodes[right[node]] : null);
+    }
+    return nodes[0];
+  }
+
+  /**
+   * Renders values back into "got" text that {@link #parse} and {@link ParameterFormatter} read.
+   *
+   * @param values     The values, one per parameter.
+   * @param paramTypes The parameter types, in order.
+   * @return The rendered text.
+   */
+  public static String render(List<Object> values, List<String> paramTypes) {
+    StringBuilder out = new StringBuilder();
+    for (int i = 0; i < values.size(); i++) {
+      if (i > 0) {
+        out.append(", ");
+      }
+      renderValue(values.get(i), normalize(paramTypes.get(i)), out);
+    }
+    return out.toString();
+  }
+
+  /**
+   * Writes values as a Java argument list through each parameter's {@link TypeCodec}. Unlike
+   * formatting the rendered text as a whole, this keeps empty strings as arguments.
+   *
+   * @param values     The values, one per parameter.
+   * @param paramTypes The parameter types, in order.
+   * @return The argument list.
+   */
+  public static String toArguments(List<Object> values, List<String> paramTypes) {
+    StringBuilder out = new StringBuilder();
+    for (int i = 0; i < values.size(); i++) {
+      if (i > 0) {
+        out.append(", ");
+      }
+      StringBuilder text = new StringBuilder();
+      renderValue(values.get(i), normalize(paramTypes.get(i)), text);
+      TypeCodecs.forType(paramTypes.get(i)).write(text, 0, text.length(), out);
+    }
+    return out.toString();
+  }
+
+  private static void renderValue(Object value, String type, StringBuilder out) {
+    String elementType = elementType(type);
+    if (elementType != null) {
+      out.append('[');
+      List<?> elements = (List<?>) value;
+      for (int i = 0; i < elements.size(); i++) {
+        if (i > 0) {
+          out.append(", ");
+        }
+        renderValue(elements.get(i), elementType, out);
+      }
+      out.append(']');
+    } else if (type.equals("TreeNode")) {
+      renderTree((Tree) value, out);
+    } else {
+      out.append(value);
+    }
+  }
+
+  private static void renderTree(Tree root, StringBuilder out) {
+    List<String> values = new ArrayList<>();
+    List<Tree> queue = new ArrayList<>();
+    queue.add(root);
+    for (int q = 0; q < queue.size(); q++) {
+      Tree node = queue.get(q);
+      if (node == null) {
+        values.add("x");
+        continue;
+      }
+      values.add(node.value());
+      queue.add(node.left());
+      queue.add(node.right());
+    }
+    int end = values.size();
+    while (end > 0 && values.get(end - 1).equals("x")) {
+      end--;
+    }
+    out.append('{').append(String.join(" ", values.subList(0, end))).append('}');
+  }
+
+  /**
+   * Counts the elements, characters or nodes a value can be shrunk by.
+   *
+   * @param value The value.
+   * @param type  Its parameter type.
+   * @return The value's size; 0 for scalars.
+   */
+  public static int size(Object value, String type) {
+    type = normalize(type);
+    if (elementType(type) != null) {
+      return ((List<?>) value).size();
+    } else if (type.equals("TreeNode")) {
+      return value == null ? 0 : ((Tree) value).size();
+    } else if (type.equals("String")) {
+      return ((String) value).length();
+    }
+    return 0;
+  }
+
+  /**
+   * Returns the length of a value's rendered text, computed from its parts without rendering it.
+   * Trees are measured without the {@code x} placeholders of their missing children.
+   *
+   * @param value The value.
+   * @param type  Its parameter type.
+   * @return The length in characters.
+   */
+  public static int length(Object value, String type) {
+    return measure(value, normalize(type));
+  }
+
+  private static int measure(Object value, String type) {
+    String elementType = elementType(type);
+    if (elementType != null) {
+      // "[a, b]": each element brings its separator, or the brackets for the last one
+      int length = 0;
+      for (Object element : (List<?>) value) {
+        length += measure(element, elementType) + 2;
+      }
+      return Math.max(length, 2);
+    } else if (type.equals("TreeNode")) {
+      return value == null ? 2 : treeChars((Tree) value) + 1;
+    }
+    return value instanceof String text ? text.length() : String.valueOf(value).length();
+  }
+
+  /** The values of a subtree, each with its separator. */
+  private static int treeChars(Tree root) {
+    int chars = 0;
+    Deque<Tree> stack = new ArrayDeque<>();
+    stack.push(root);
+    while (!stack.isEmpty()) {
+      Tree node = stack.pop();
+      chars += node.value().length() + 1;
+      if (node.left() != null) {
+        stack.push(node.left());
+      }
+      if (node.right() != null) {
+        stack.push(node.right());
+      }
+    }
+    return chars;
+  }
+
+  /**
+   * The smaller variants of one value at one granularity. Variants are numbered and only built
+   * when asked for, so a round can measure and order all of them and build just those it checks.
+   */
+  public interface Reductions {
+    /** The number of variants. */
+    int count();
+
+    /** The rendered length of a variant, as {@link CaseValues#length} measures it. */
+    int length(int variant);
+
+    /** Builds a variant. */
+    Object get(int variant);
+  }
+
+  private static final Reductions NONE =
+      new Reductions() {
+        @Override
+        public int count() {
+          return 0;
+        }
+
+        @Override
+        public int length(int variant) {
+          throw new IndexOutOfBoundsException(variant);
+        }
+
+        @Override
+        public Object get(int variant) {
+          throw new IndexOutOfBoundsException(variant);
+        }
+      };
+
+  /**
+   * Describes the smaller variants of a value. At granularity {@code g} a sequence or string is
+   * cut into {@code g} chunks and each variant drops one; a tree drops or replaces by a child each
+   * subtree holding at least {@code 1/g} of its nodes. Once the granularity reaches the size, the
+   * elements of a sequence are shrunk in turn as well.
+   *
+   * @param value       The value to shrink.
+   * @param type        Its parameter type.
+   * @param granularity How finely to cut, at least 2.
+   * @return The variants, largest reductions first.
+   */
+  public static Reductions reductions(Object value, String type, int granularity) {
+    type = normalize(type);
+    String elementType = elementType(type);
+    if (elementType != null) {
+      return new SequenceReductions((List<?>) value, elementType, granularity);
+    } else if (type.equals("TreeNode")) {
+      return value == null ? NONE : new TreeReductions((Tree) value, granularity);
+    } else if (type.equals("String")) {
+      return new StringReductions((String) value, granularity);
+    }
+    return NONE;
+  }
+
+  /** Chunk boundaries: chunk {@code c} of {@code n} elements cut into {@code chunks}. */
+  private static int chunkStart(int n, int chunks, int c) {
+    return (int) ((long) n * c / chunks);
+  }
+
+  private static final class SequenceReductions implements Reductions {
+    private final List<?> elements;
+    private final int chunks;
+    // prefix[i] is the rendered length of the first i elements with their separators
+    private final int[] prefix;
+    // Variants shrinking single elements, once the granularity reaches the size
+    private final Reductions[] inner;
+    private final int[] innerStart;
+    private final int count;
+
+    SequenceReductions(List<?> elements, String elementType, int granularity) {
+      this.elements = elements;
+      int n = elements.size();
+      this.chunks = Math.min(granularity, n);
+      this.prefix = new int[n + 1];
+      for (int i = 0; i < n; i++) {
+        prefix[i + 1] = prefix[i] + measure(elements.get(i), elementType) + 2;
+      }
+
+      int total = chunks;
+      if (granularity >= n) {
+        inner = new Reductions[n];
+        innerStart = new int[n];
+        for (int i = 0; i < n; i++) {
+          Object element = elements.get(i);
+          inner[i] = reductions(element, elementType, size(element, elementType));
+          innerStart[i] = total;
+          total += inner[i].count();
+        }
+      } else {
+        inner = null;
+        innerStart = null;
+      }
+      this.count = total;
+    }
+
+    @Override
+    public int count() {
+      return count;
+    }
+
+    @Override
+    public int length(int variant) {
+      int n = elements.size();
+      if (variant < chunks) {
+        int from = chunkStart(n, chunks, variant);
+        int to = chunkStart(n, chunks, variant + 1);
+        return Math.max(prefix[n] - (prefix[to] - prefix[from]), 2);
+      }
+      int i = element(variant);
+      int elementLength = prefix[i + 1] - prefix[i] - 2;
+      return prefix[n] - elementLength + inner[i].length(variant - innerStart[i]);
+    }
+
+    @Override
+    public Object get(int variant) {
+      int n = elements.size();
+      if (variant < chunks) {
+        int from = chunkStart(n, chunks, variant);
+        int to = chunkStart(n, chunks, variant + 1);
+        List<Object> shorter = new ArrayList<>(n - (to - from));
+        shorter.addAll(elements.subList(0, from));
+        shorter.addAll(elements.subList(to, n));
+        return shorter;
+      }
+      int i = element(variant);
+      List<Object> copy = new ArrayList<>(elements);
+      copy.set(i, inner[i].get(variant - innerStart[i]));
+      return copy;
+    }
+
+    /** The element whose variants include this one. */
+    private int element(int variant) {
+      int i = Arrays.binarySearch(innerStart, variant);
+      if (i < 0) {
+        i = -i - 2;
+      }
+      // Elements without variants share their start with the next one
+      while (i + 1 < innerStart.length && innerStart[i + 1] == variant) {
+        i++;
+      }
+      return i;
+    }
+  }
+
+  private static final class StringReductions implements Reductions {
+    private final String text;
+    private final int chunks;
+
+    StringReductions(String text, int granularity) {
+      this.text = text;
+      this.chunks = Math.min(granularity, text.length());
+    }
+
+    @Override
+    public int count() {
+      return chunks;
+    }
+
+    @Override
+    public int length(int variant) {
+      int n = text.length();
+      return n - (chunkStart(n, chunks, variant + 1) - chunkStart(n, chunks, variant));
+    }
+
+    @Override
+    public Object get(int variant) {
+      int n = text.length();
+      return text.substring(0, chunkStart(n, chunks, variant))
+          + text.substring(chunkStart(n, chunks, variant + 1));
+    }
+  }
+
+  private static final class TreeReductions implements Reductions {
+    private final Map<Tree, Tree> parents = new IdentityHashMap<>();
+    private final Map<Tree, Integer> chars = new IdentityHashMap<>();
+    // Each variant swaps out one node: for null, or for its left or right child
+    private final List<Tree> nodes = new ArrayList<>();
+    private final List<Tree> replacements = new ArrayList<>();
+    private final int total;
+
+    TreeReductions(Tree root, int granularity) {
+      // Pre-order with parent links, then subtree sizes and lengths from the back of that order
+      List<Tree> order = new ArrayList<>();
+      Deque<Tree> stack = new ArrayDeque<>();
+      stack.push(root);
+      while (!stack.isEmpty()) {
+        Tree node = stack.pop();
+        order.add(node);
+        for (Tree child : new Tree[] {node.right(), node.left()}) {
+          if (child != null) {
+            parents.put(child, node);
+            stack.push(child);
+          }
+        }
+      }
+      Map<Tree, Integer> sizes = new IdentityHashMap<>();
+      for (int i = order.size() - 1; i >= 0; i--) {
+        Tree node = order.get(i);
+        int size = 1;
+        int length = node.value().length() + 1;
+        if (node.left() != null) {
+          size += sizes.get(node.left());
+          length += chars.get(node.left());
+        }
+        if (node.right() != null) {
+          size += sizes.get(node.right());
+          length += chars.get(node.right());
+        }
+        sizes.put(node, size);
+        chars.put(node, length);
+      }
+      this.total = chars.get(root);
+
+      int threshold = Math.max(1, order.size() / granularity);
+      for (Tree node : order) {
+        if (sizes.get(node) < threshold) {
+          continue;
+        }
+        add(node, null);
+        if (node.left() != null) {
+          add(node, node.left());
+        }
+        if (node.right() != null) {
+          add(node, node.right());
+        }
+      }
+    }
+
+    private void add(Tree node, Tree replacement) {
+      nodes.add(node);
+      replacements.add(replacement);
+    }
+
+    @Override
+    public int count() {
+      return nodes.size();
+    }
+
+    @Override
+    public int length(int variant) {
+      Tree replacement = replacements.get(variant);
+      int remaining = total - chars.get(nodes.get(variant));
+      if (replacement != null) {
+        remaining += chars.get(replacement);
+      }
+      return remaining == 0 ? 2 : remaining + 1;
+    }
+
+    @Override
+    public Object get(int variant) {
+      return replace(nodes.get(variant), replacements.get(variant), parents);
+    }
+  }
+
+  /** Copies the path from the root down to {@code node}, swapping that node out. */
+  private static Tree replace(Tree node, Tree replacement, Map<Tree, Tree> parents) {
+    Tree child = node;
+    Tree current = replacement;
+    for (Tree parent = parents.get(child); parent != null; parent = parents.get(child)) {
+      current =
+          parent.left() == child
+              ? new Tree(parent.value(), current, parent.right())
+              : new Tree(parent.value(), parent.left(), current);
+      child = parent;
+    }
+    return current;
+  }
+
+  /**
+   * Returns the element type of a sequence type.
+   *
+   * @param type A normalized parameter type.
+   * @return The element type of {@code T[]}, {@code List<T>} or {@code ListNode}, otherwise null.
+   */
+  static String elementType(String type) {
+    if (type.endsWith("[]")) {
+      return type.substring(0, type.length() - 2);
+    } else if (type.startsWith("List<") && type.endsWith(">")) {
+      return type.substring(5, type.length() - 1);
+    } else if (type.equals("ListNode")) {
+      return "int";
+    }
+    return null;
+  }
+
+  static String normalize(String type) {
+    return type.replace(" ", "");
+  }
+}
@@ -0,0 +1,59 @@
+package me.villagers654;
+
+/**
+ * Where the crawler finds the grader and the problem pages. Defaults to the live Duke servers and
+ * can be pointed elsewhere, such as a local stand-in grader, through system properties:
+ *
+ * <ul>
+ *   <li>{@code aptcrawler.graderUrl} - the login and submission page
+ *   <li>{@code aptcrawler.problemUrl} - the prefix of {@code <apt>.html} problem pages
+ *   <li>{@code aptcrawler.loginTitle} - the heading shown once logged in
+ * </ul>
+ */
+public class CrawlConfig {
+  public static final String DEFAULT_GRADER_URL = "https://apt.cs.duke.edu/aptsec/201/fall24/";
+  public static final String DEFAULT_PROBLEM_URL = "https://cs.duke.edu/csed/newapt/";
+  public static final String DEFAULT_LOGIN_TITLE = "APT Grading: CompSci 201, Fall 2024";
+
+  private final String graderUrl;
+  private final String problemUrl;
+  private final String loginTitle;
+
+  public CrawlConfig(String graderUrl, String problemUrl, String loginTitle) {
+    this.graderUrl = graderUrl;
+    this.problemUrl = problemUrl;
+    this.loginTitle = loginTitle;
+  }
+
+  /**
+   * Reads the configuration from the {@code aptcrawler.*} system properties.
+   *
+   * @return The configured endpoints.
+   */
+  public static CrawlConfig fromSystemProperties() {
+    return new CrawlConfig(
+        System.getProperty("aptcrawler.graderUrl", DEFAULT_GRADER_URL),
+        System.getProperty("aptcrawler.problemUrl", DEFAULT_PROBLEM_URL),
+        System.getProperty("aptcrawler.loginTitle", DEFAULT_LOGIN_TITLE));
+  }
+
+  public String getGraderUrl() {
+    return graderUrl;
+  }
+
+  public String getProblemUrl() {
+    return problemUrl;
+  }
+
+  /**
+   * @param aptName The APT name as used on the problem page.
+   * @return The URL of the APT's problem page.
+   */
+  public String getProblemUrl(String aptName) {
+    return problemUrl + aptName.toLowerCase() + ".html";
+  }
+
+  public String getLoginTitle() {
+    return loginTitle;
+  }
+}
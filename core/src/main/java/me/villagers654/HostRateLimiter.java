@@ -0,0 +1,92 @@
+package me.villagers654;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-host token buckets in front of every request to the Duke servers, so {@code cs.duke.edu} and
+ * {@code apt.cs.duke.edu} are rate limited independently.
+ *
+ * <p>Configured through system properties:
+ *
+ * <ul>
+ *   <li>{@code aptcrawler.hostRate} - requests per second per host (default 2)
+ *   <li>{@code aptcrawler.hostBurst} - requests allowed back to back per host (default 4)
+ * </ul>
+ */
+public class HostRateLimiter {
+  private final double rate;
+  private final int burst;
+  private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+  public HostRateLimiter(double rate, int burst) {
+    this.rate = rate;
+    this.burst = burst;
+  }
+
+  /**
+   * Reads the limits from the {@code aptcrawler.*} system properties.
+   *
+   * @return The configured limiter.
+   */
+  public static HostRateLimiter fromSystemProperties() {
+    return new HostRateLimiter(
+        Double.parseDouble(System.getProperty("aptcrawler.hostRate", "2")),
+        Integer.getInteger("aptcrawler.hostBurst", 4));
+  }
+
+  /**
+   * @return A limiter that never waits, for benchmarks against a local grader.
+   */
+  public static HostRateLimiter unlimited() {
+    return new HostRateLimiter(Double.POSITIVE_INFINITY, 1);
+  }
+
+  /**
+   * Waits until the URL's host may be contacted again.
+   *
+   * @param url The URL about to be loaded.
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  public void acquire(String url) throws InterruptedException {
+    if (Double.isInfinite(rate)) {
+      return;
+    }
+    String host = URI.create(url).getHost();
+    buckets.computeIfAbsent(host == null ? "" : host, key -> new TokenBucket(rate, burst)).take();
+  }
+
+  /** Hands out requests at a fixed rate, allowing short bursts. */
+  private static class TokenBucket {
+    private final double rate;
+    private final double capacity;
+    private double tokens;
+    private long refilledAt = System.nanoTime();
+
+    TokenBucket(double rate, int capacity) {
+      this.rate = rate;
+      this.capacity = capacity;
+      this.tokens = capacity;
+    }
+
+    @SuppressWarnings("try")
+    void take() throws InterruptedException {
+      long wait;
+      synchronized (this) {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - refilledAt) / 1e9 * rate);
+        refilledAt = now;
+        // Reserve the token now, going into debt if needed, so callers are served in order
+        tokens -= 1;
+        wait = tokens >= 0 ? 0 : (long) Math.ceil(-tokens / rate * 1e9);
+      }
+      if (wait > 0) {
+        try (Trace.Span ignored = Trace.span("rate-limit")) {
+          TimeUnit.NANOSECONDS.sleep(wait);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,240 @@
+package me.villagers654;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Delta-debugging shrinker for failing test cases. Starting from the grader's "got" text, each
+ * round describes the smaller variants of every parameter with {@link CaseValues#reductions},
+ * orders them by length without building them, then builds and checks them in parallel on a
+ * work-stealing pool and keeps the first, and so smallest, that still fails. A parameter's
+ * granularity halves its chunks after a round without progress, so large inputs lose half their
+ * elements at a time before single elements are tried; shrinking stops once no single step fails
+ * any more.
+ *
+ * <p>A variant fails when the reference implementation returns normally and the solution returns
+ * something structurally different or throws. Variants the reference rejects are treated as
+ * invalid input and skipped, and so are variants either implementation does not finish in time: a
+ * hang is not the failure being shrunk.
+ *
+ * <p>Usage: {@code InputShrinker <solutionClasspath> <referenceClasspath> <className>
+ * "<methodSignature>" "<got>" [--parallelism N]}. A got value of {@code @file} is read from that
+ * file, for inputs too long for a command line.
+ */
+public final class InputShrinker {
+  private static final Logger LOGGER = LoggerFactory.getLogger(InputShrinker.class);
+
+  /** The outcome of a shrink. */
+  public record Result(List<Object> values, int rounds, long evaluations) {}
+
+  private final List<String> paramTypes;
+  private final Predicate<List<Object>> failing;
+  private final ForkJoinPool pool;
+  private final AtomicLong evaluations = new AtomicLong();
+
+  /**
+   * @param paramTypes The method's parameter types, in order.
+   * @param failing    Whether a candidate still fails. Called concurrently.
+   * @param pool       The pool candidates are checked on.
+   */
+  public InputShrinker(
+      List<String> paramTypes, Predicate<List<Object>> failing, ForkJoinPool pool) {
+    this.paramTypes = List.copyOf(paramTypes);
+    this.failing = failing;
+    this.pool = pool;
+  }
+
+  /**
+   * Shrinks a failing case to one where no single reduction still fails.
+   *
+   * @param values The failing case's values, one per parameter.
+   * @return The smallest failing case found.
+   * @throws InterruptedException If interrupted while candidates are checked.
+   */
+  @SuppressWarnings("try")
+  public Result shrink(List<Object> values) throws InterruptedException {
+    List<Object> current = new ArrayList<>(values);
+    int[] granularity = new int[paramTypes.size()];
+    Arrays.fill(granularity, 2);
+    int rounds = 0;
+
+    while (true) {
+      rounds++;
+      // Measure every variant without building it; only the ones checked are built
+      CaseValues.Reductions[] reductions = new CaseValues.Reductions[current.size()];
+      int[] lengths = new int[current.size()];
+      int length = 2 * (current.size() - 1);
+      for (int i = 0; i < current.size(); i++) {
+        reductions[i] = CaseValues.reductions(current.get(i), paramTypes.get(i), granularity[i]);
+        lengths[i] = CaseValues.length(current.get(i), paramTypes.get(i));
+        length += lengths[i];
+      }
+      List<Candidate> candidates = new ArrayList<>();
+      for (int i = 0; i < reductions.length; i++) {
+        for (int k = 0; k < reductions[i].count(); k++) {
+          candidates.add(new Candidate(i, k, length - lengths[i] + reductions[i].length(k)));
+        }
+      }
+      candidates.sort(Comparator.comparingInt(Candidate::length));
+
+      Candidate best;
+      List<Object> bestValues;
+      try (Trace.Span ignored = Trace.span("shrink-round")) {
+        best = firstFailing(candidates, current, reductions);
+        bestValues = best == null ? null : best.build(current, reductions);
+      }
+
+      if (best != null) {
+        LOGGER.debug(
+            "Round {}: {} candidates, kept one of {} characters",
+            rounds, candidates.size(), best.length());
+        current = bestValues;
+        granularity[best.parameter()] = Math.max(granularity[best.parameter()] - 1, 2);
+        continue;
+      }
+
+      // No smaller variant fails: cut finer where possible, otherwise the case is minimal
+      boolean refined = false;
+      for (int i = 0; i < granularity.length; i++) {
+        int size = CaseValues.size(current.get(i), paramTypes.get(i));
+        if (granularity[i] < size) {
+          granularity[i] = Math.min(granularity[i] * 2, size);
+          refined = true;
+        }
+      }
+      if (!refined) {
+        return new Result(current, rounds, evaluations.get());
+      }
+    }
+  }
+
+  /**
+   * Builds and checks candidates in parallel and returns the first one, in list order, that still
+   * fails. Work past a failing candidate is cancelled, so a round ends at its first failing
+   * variant as in delta debugging.
+   */
+  private Candidate firstFailing(
+      List<Candidate> candidates, List<Object> base, CaseValues.Reductions[] reductions)
+      throws InterruptedException {
+    if (candidates.isEmpty()) {
+      return null;
+    }
+    try {
+      return pool.submit(
+              () ->
+                  candidates.parallelStream()
+                      .filter(
+                          candidate -> {
+                            evaluations.incrementAndGet();
+                            return failing.test(candidate.build(base, reductions));
+                          })
+                      .findFirst()
+                      .orElse(null))
+          .get();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Candidate check failed", e.getCause());
+    }
+  }
+
+  /** Variant {@code variant} of parameter {@code parameter}, and the rendered case's length. */
+  private record Candidate(int parameter, int variant, int length) {
+    List<Object> build(List<Object> base, CaseValues.Reductions[] reductions) {
+      List<Object> values = new ArrayList<>(base);
+      values.set(parameter, reductions[parameter].get(variant));
+      return values;
+    }
+  }
+
+  /**
+   * Builds the failure check for a solution against a reference implementation.
+   *
+   * @param solution  The implementation under test.
+   * @param reference The implementation taken as correct.
+   * @return True for inputs the reference accepts and the solution gets wrong without timing out.
+   */
+  public static Predicate<List<Object>> differsFrom(
+      SolutionRunner solution, SolutionRunner reference) {
+    return values -> {
+      SolutionRunner.Outcome expected = reference.run(values);
+      if (expected.failed()) {
+        return false;
+      }
+      SolutionRunner.Outcome actual = solution.run(values);
+      if (actual.timedOut()) {
+        return false;
+      }
+      return actual.failed() || !SolutionRunner.deepEquals(expected.value(), actual.value());
+    };
+  }
+
+  public static void main(String[] args) throws Exception {
+    AsyncConsole.install();
+    if (args.length < 5) {
+      System.err.println(
+          "Usage: InputShrinker <solutionClasspath> <referenceClasspath> <className>"
+              + " \"<methodSignature>\" \"<got>\" [--parallelism N]");
+      System.exit(1);
+    }
+
+    int parallelism = Runtime.getRuntime().availableProcessors();
+    for (int i = 5; i < args.length; i++) {
+      if (args[i].equals("--parallelism") && i + 1 < args.length) {
+        parallelism = Integer.parseInt(args[++i]);
+      }
+    }
+
+    APTCrawler.MethodInfo method = APTCrawler.parseMethodSignature(args[3]);
+    List<String> paramTypes = method.paramTypes;
+    String got = args[4];
+    if (got.startsWith("@")) {
+      got = Files.readString(Path.of(got.substring(1)));
+    }
+    List<Object> values = CaseValues.parse(got.trim(), paramTypes);
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    try (SolutionRunner solution =
+            new SolutionRunner(Path.of(args[0]), args[2], method.methodName, paramTypes);
+        SolutionRunner reference =
+            new SolutionRunner(Path.of(args[1]), args[2], method.methodName, paramTypes)) {
+      Predicate<List<Object>> failing = differsFrom(solution, reference);
+      if (!failing.test(values)) {
+        System.err.println(
+            solution.run(values).timedOut()
+                ? "The solution does not finish on this input; only wrong results are shrunk"
+                : "The solution agrees with the reference on this input");
+        System.exit(1);
+      }
+
+      long start = System.nanoTime();
+      Result result = new InputShrinker(paramTypes, failing, pool).shrink(values);
+      double seconds = (System.nanoTime() - start) / 1e9;
+
+      String minimal = CaseValues.render(result.values(), paramTypes);
+      System.out.printf(
+          "Shrunk %d to %d characters in %d rounds: %d candidates in %.2f s on %d threads%n",
+          got.trim().length(),
+          minimal.length(),
+          result.rounds(),
+          result.evaluations(),
+          seconds,
+          parallelism);
+      System.out.println("Input:     " + minimal);
+      String call = CaseValues.toArguments(result.values(), paramTypes);
+      System.out.println("Call:      " + method.methodName + "(" + call + ")");
+      System.out.println("Expected:  " + reference.run(result.values()));
+      System.out.println("Got:       " + solution.run(result.values()));
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
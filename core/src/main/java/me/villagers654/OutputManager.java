@@ -0,0 +1,148 @@
+package me.villagers654;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Owns the files a crawl produces. Each APT gets its own directory under the output root, and every
+ * file is written to a temporary file beside its target and then moved into place, so concurrent
+ * runs never share a file and a crash never leaves a partially written one.
+ *
+ * <p>The output root is read from the {@code aptcrawler.outputDir} system property and defaults to
+ * the working directory.
+ */
+public class OutputManager {
+  public static final String GENERATED_TEST_FILE = "GeneratedTest.java";
+  public static final String SKELETON_FILE = "skeleton.txt";
+
+  private final Path root;
+
+  public OutputManager(Path root) {
+    this.root = root;
+  }
+
+  /**
+   * @return An output manager rooted at {@code aptcrawler.outputDir}, or the working directory.
+   */
+  public static OutputManager fromSystemProperties() {
+    return new OutputManager(Path.of(System.getProperty("aptcrawler.outputDir", ".")));
+  }
+
+  public Path getRoot() {
+    return root;
+  }
+
+  /**
+   * @param apt The APT.
+   * @return The directory holding the APT's files.
+   */
+  public Path aptDir(AptAliases.Apt apt) {
+    return root.resolve(apt.name());
+  }
+
+  /**
+   * @param apt The APT.
+   * @return The path of the APT's solution file, named after its class.
+   */
+  public Path solutionFile(AptAliases.Apt apt) {
+    return aptDir(apt).resolve(apt.className() + ".java");
+  }
+
+  /**
+   * @param apt The APT.
+   * @return The path of the tests generated from the APT's results.
+   */
+  public Path generatedTestFile(AptAliases.Apt apt) {
+    return aptDir(apt).resolve(GENERATED_TEST_FILE);
+  }
+
+  /**
+   * @param apt The APT.
+   * @return The path of the APT's raw skeleton, as prefetched from its problem page.
+   */
+  public Path skeletonFile(AptAliases.Apt apt) {
+    return aptDir(apt).resolve(SKELETON_FILE);
+  }
+
+  /**
+   * Stores the APT's raw skeleton so later crawls can skip its problem page.
+   *
+   * @param apt      The APT.
+   * @param skeleton The skeleton as extracted from the problem page.
+   * @throws IOException If the file cannot be written.
+   */
+  public void writeSkeleton(AptAliases.Apt apt, CharSequence skeleton) throws IOException {
+    writeAtomically(skeletonFile(apt), skeleton);
+  }
+
+  /**
+   * @param apt The APT.
+   * @return The APT's prefetched raw skeleton, or null if it has not been prefetched.
+   * @throws IOException If the file exists but cannot be read.
+   */
+  public String readSkeleton(AptAliases.Apt apt) throws IOException {
+    Path file = skeletonFile(apt);
+    return Files.isRegularFile(file) ? Files.readString(file, StandardCharsets.UTF_8) : null;
+  }
+
+  /**
+   * Writes the APT's solution file.
+   *
+   * @param apt  The APT.
+   * @param code The formatted solution.
+   * @return The file written.
+   * @throws IOException If the file cannot be written.
+   */
+  public Path writeSolution(AptAliases.Apt apt, CharSequence code) throws IOException {
+    Path target = solutionFile(apt);
+    writeAtomically(target, code);
+    return target;
+  }
+
+  /**
+   * Writes a file into the APT's directory.
+   *
+   * @param apt      The APT.
+   * @param fileName The file name.
+   * @param content  The file's content.
+   * @return The file written.
+   * @throws IOException If the file cannot be written.
+   */
+  public Path write(AptAliases.Apt apt, String fileName, CharSequence content) throws IOException {
+    Path target = aptDir(apt).resolve(fileName);
+    writeAtomically(target, content);
+    return target;
+  }
+
+  /**
+   * Replaces a file's content atomically: the content goes to a temporary file in the same
+   * directory through a buffered writer, which is then moved over the target.
+   *
+   * @param target  The file to write.
+   * @param content The file's content.
+   * @throws IOException If the file cannot be written.
+   */
+  public static void writeAtomically(Path target, CharSequence content) throws IOException {
+    Path dir = target.toAbsolutePath().getParent();
+    Files.createDirectories(dir);
+    Path temp = Files.createTempFile(dir, "." + target.getFileName(), ".tmp");
+    try {
+      try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+        writer.append(content);
+      }
+      try {
+        Files.move(
+            temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+}
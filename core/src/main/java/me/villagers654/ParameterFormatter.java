@@ -0,0 +1,88 @@
+package me.villagers654;
+
+import java.util.List;
+
+/**
+ * Turns the grader's "got" text for one test case into a Java argument list. The codecs for a
+ * method signature are resolved once when the formatter is created, and each call tokenizes the
+ * input in a single pass, writing every literal straight into the caller's buffer.
+ */
+public final class ParameterFormatter {
+  private final TypeCodec[] codecs;
+  private final String types;
+
+  /**
+   * @param paramTypes The parameter types from the method signature, in order.
+   */
+  public ParameterFormatter(List<String> paramTypes) {
+    codecs = new TypeCodec[paramTypes.size()];
+    StringBuilder joined = new StringBuilder();
+    for (int i = 0; i < codecs.length; i++) {
+      String type = paramTypes.get(i).trim();
+      codecs[i] = TypeCodecs.forType(type);
+      joined.append(i > 0 ? "," : "").append(type);
+    }
+    types = joined.toString();
+  }
+
+  /**
+   * @return The parameter types, comma separated, as the key of this formatter's literals.
+   */
+  public String getTypes() {
+    return types;
+  }
+
+  /**
+   * Formats the raw parameter text into a comma separated Java argument list.
+   *
+   * @param input The raw parameter string from the test case.
+   * @return The argument list.
+   */
+  public String format(String input) {
+    StringBuilder out = new StringBuilder(input.length() + 16 * codecs.length);
+    format(input, out);
+    return out.toString();
+  }
+
+  /**
+   * Formats the raw parameter text into {@code out}. Parameters are separated by commas or spaces
+   * outside brackets, braces and quotes; parameters beyond the signature's arity are ignored.
+   *
+   * @param input The raw parameter string from the test case.
+   * @param out   The buffer the argument list is appended to.
+   */
+  public void format(CharSequence input, StringBuilder out) {
+    int depth = 0;
+    boolean inQuotes = false;
+    int index = 0;
+    int start = -1;
+    int length = input.length();
+
+    for (int i = 0; i <= length && index < codecs.length; i++) {
+      char c = i < length ? input.charAt(i) : ' ';
+
+      if (c == '"') {
+        inQuotes = !inQuotes;
+      } else if (!inQuotes && depth == 0 && (c == ',' || Character.isWhitespace(c))) {
+        if (start >= 0) {
+          if (index > 0) {
+            out.append(", ");
+          }
+          codecs[index++].write(input, start, i, out);
+          start = -1;
+        }
+        continue;
+      } else if (!inQuotes) {
+        if (c == '[' || c == '{') {
+          depth++;
+        } else if (c == ']' || c == '}') {
+          depth--;
+        }
+      }
+
+      if (start < 0) {
+        start = i;
+      }
+    }
+  }
+}
@@ -0,0 +1,177 @@
+package me.villagers654;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A directory of recorded crawl runs. Each run is saved in its own subdirectory holding the raw
+ * problem page and results page, gzip compressed, plus the APT name and method signature, so the
+ * generation stage can be replayed later without a browser.
+ *
+ * <p>Recording is enabled by setting the {@code aptcrawler.record} system property to the corpus
+ * directory.
+ */
+public class ResultCorpus {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ResultCorpus.class);
+
+  private static final String PROBLEM_FILE = "problem.html.gz";
+  private static final String RESULTS_FILE = "results.html.gz";
+  private static final String BASELINE_FILE = "GeneratedTest.java.gz";
+  private static final String META_FILE = "meta.properties";
+
+  private final Path root;
+
+  public ResultCorpus(Path root) {
+    this.root = root;
+  }
+
+  /**
+   * @return The corpus named by the {@code aptcrawler.record} system property, or null if
+   *     recording is off.
+   */
+  public static ResultCorpus fromSystemProperties() {
+    String dir = System.getProperty("aptcrawler.record");
+    return dir == null || dir.isBlank() ? null : new ResultCorpus(Path.of(dir));
+  }
+
+  public Path getRoot() {
+    return root;
+  }
+
+  /**
+   * Saves one run.
+   *
+   * @param aptName         The APT name.
+   * @param methodSignature The method signature found in the skeleton.
+   * @param problemHtml     The full problem page.
+   * @param resultsHtml     The full results page.
+   * @return The directory the run was saved to.
+   * @throws IOException If the files cannot be written.
+   */
+  public Path record(String aptName, String methodSignature, String problemHtml, String resultsHtml)
+      throws IOException {
+    long recordedAt = System.currentTimeMillis();
+    Files.createDirectories(root);
+    Path dir = Files.createTempDirectory(root, aptName + "-" + recordedAt + "-");
+
+    Properties meta = new Properties();
+    meta.setProperty("aptName", aptName);
+    meta.setProperty("methodSignature", methodSignature);
+    meta.setProperty("recordedAt", Long.toString(recordedAt));
+    try (OutputStream out = Files.newOutputStream(dir.resolve(META_FILE))) {
+      meta.store(out, "Recorded crawl run");
+    }
+    writeCompressed(dir.resolve(PROBLEM_FILE), problemHtml);
+    writeCompressed(dir.resolve(RESULTS_FILE), resultsHtml);
+
+    LOGGER.info("Recorded run to {}", dir);
+    return dir;
+  }
+
+  /**
+   * Lists the recorded runs, oldest first.
+   *
+   * @return The runs found in the corpus directory.
+   * @throws IOException If the directory cannot be read.
+   */
+  public List<Entry> entries() throws IOException {
+    List<Entry> entries = new ArrayList<>();
+    if (!Files.isDirectory(root)) {
+      return entries;
+    }
+    try (Stream<Path> dirs = Files.list(root)) {
+      for (Path dir : dirs.sorted().toList()) {
+        Path metaFile = dir.resolve(META_FILE);
+        if (!Files.isRegularFile(metaFile)) {
+          continue;
+        }
+        Properties meta = new Properties();
+        try (InputStream in = Files.newInputStream(metaFile)) {
+          meta.load(in);
+        }
+        entries.add(
+            new Entry(
+                dir,
+                meta.getProperty("aptName"),
+                meta.getProperty("methodSignature"),
+                Long.parseLong(meta.getProperty("recordedAt", "0"))));
+      }
+    }
+    return entries;
+  }
+
+  /** One recorded run. */
+  public static class Entry {
+    private final Path dir;
+    private final String aptName;
+    private final String methodSignature;
+    private final long recordedAt;
+
+    Entry(Path dir, String aptName, String methodSignature, long recordedAt) {
+      this.dir = dir;
+      this.aptName = aptName;
+      this.methodSignature = methodSignature;
+      this.recordedAt = recordedAt;
+    }
+
+    public Path getDir() {
+      return dir;
+    }
+
+    public String getAptName() {
+      return aptName;
+    }
+
+    public String getMethodSignature() {
+      return methodSignature;
+    }
+
+    public long getRecordedAt() {
+      return recordedAt;
+    }
+
+    public String problemHtml() throws IOException {
+      return readCompressed(dir.resolve(PROBLEM_FILE));
+    }
+
+    public String resultsHtml() throws IOException {
+      return readCompressed(dir.resolve(RESULTS_FILE));
+    }
+
+    /**
+     * @return The generated test source saved as this run's baseline, or null if there is none.
+     */
+    public String baseline() throws IOException {
+      Path file = dir.resolve(BASELINE_FILE);
+      return Files.exists(file) ? readCompressed(file) : null;
+    }
+
+    public void writeBaseline(String source) throws IOException {
+      writeCompressed(dir.resolve(BASELINE_FILE), source);
+    }
+  }
+
+  private static void writeCompressed(Path file, String text) throws IOException {
+    try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+      out.write(text.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  private static String readCompressed(Path file) throws IOException {
+    try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -0,0 +1,458 @@
+package me.villagers654;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+
+/**
+ * An append-only history of every results table the grader returned. Each submission's rows go to
+ * a binary data log as one block, and a fixed-size record describing the block is appended to an
+ * index file. The index is memory-mapped and holds the APT, the row and pass counts, the timestamp
+ * and the source hash, so pass-rate trends are read from it alone; only the blocks of the
+ * submissions a query compares are mapped and decoded.
+ *
+ * <p>A record is appended only after its block is on disk, and both are forced before {@link
+ * #append} returns. A crash at worst leaves an unindexed block or a torn last record; on the next
+ * open, records that do not describe a block inside the data log are dropped along with any
+ * unindexed data.
+ *
+ * <p>One process at a time may open a history; a second one fails with an {@link IOException}
+ * instead of interleaving its records.
+ *
+ * <p>Enabled by setting the {@code aptcrawler.history} system property to the history directory.
+ *
+ * <p>Usage: {@code ResultHistory <historyDir> trend|regressions <apt>}
+ */
+public class ResultHistory implements AutoCloseable {
+  private static final String DATA_FILE = "results.log";
+  private static final String INDEX_FILE = "results.idx";
+
+  // Layout of an index record; the remaining bytes are reserved
+  private static final int RECORD_SIZE = 64;
+  private static final int ID = 0;
+  private static final int TIMESTAMP = 8;
+  private static final int APT_KEY = 16;
+  private static final int DATA_OFFSET = 24;
+  private static final int SOURCE_HASH = 32;
+  private static final int DATA_LENGTH = 40;
+  private static final int ROW_COUNT = 44;
+  private static final int PASS_COUNT = 48;
+
+  private final FileChannel data;
+  private final FileChannel index;
+  private long dataSize;
+  private int count;
+  private MappedByteBuffer indexMap;
+
+  /** The grader's verdict on one case. */
+  public enum Status {
+    FAIL,
+    PASS,
+    OTHER;
+
+    static Status of(String text) {
+      if (text.equalsIgnoreCase("fail")) {
+        return FAIL;
+      }
+      return text.equalsIgnoreCase("pass") ? PASS : OTHER;
+    }
+  }
+
+  /**
+   * One row of a results table.
+   *
+   * @param caseIndex The case number shown by the grader.
+   * @param status    The verdict.
+   * @param expected  The expected value.
+   * @param got       The value shown after the expected one.
+   */
+  public record Row(int caseIndex, Status status, String expected, String got) {}
+
+  /**
+   * One graded submission.
+   *
+   * @param id         The submission's position in the history.
+   * @param timestamp  When it was recorded, in milliseconds since the epoch.
+   * @param rowCount   The number of rows in its results table.
+   * @param passCount  The number of passing rows.
+   * @param sourceHash The hash of the submitted source.
+   */
+  public record Submission(long id, long timestamp, int rowCount, int passCount, long sourceHash) {
+    public double passRate() {
+      return rowCount == 0 ? 0 : (double) passCount / rowCount;
+    }
+  }
+
+  /**
+   * Opens the history in a directory, creating it if needed.
+   *
+   * @param dir The history directory.
+   * @throws IOException If the files cannot be opened.
+   */
+  public ResultHistory(Path dir) throws IOException {
+    Files.createDirectories(dir);
+    this.data =
+        FileChannel.open(
+            dir.resolve(DATA_FILE),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    try {
+      this.index =
+          FileChannel.open(
+              dir.resolve(INDEX_FILE),
+              StandardOpenOption.CREATE,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE);
+    } catch (IOException e) {
+      data.close();
+      throw e;
+    }
+
+    try {
+      // Held until the index is closed
+      FileLock lock;
+      try {
+        lock = index.tryLock();
+      } catch (OverlappingFileLockException e) {
+        lock = null;
+      }
+      if (lock == null) {
+        throw new IOException("History " + dir + " is already open elsewhere");
+      }
+      recover();
+    } catch (IOException e) {
+      try {
+        data.close();
+      } finally {
+        index.close();
+      }
+      throw e;
+    }
+  }
+
+  /** Drops torn or dangling trailing records and any block that was never indexed. */
+  private void recover() throws IOException {
+    count = (int) Math.min(index.size() / RECORD_SIZE, Integer.MAX_VALUE);
+    long dataLimit = data.size();
+    ByteBuffer last = ByteBuffer.allocate(RECORD_SIZE);
+    while (count > 0) {
+      last.clear();
+      readFully(index, last, (long) (count - 1) * RECORD_SIZE);
+      long offset = last.getLong(DATA_OFFSET);
+      int length = last.getInt(DATA_LENGTH);
+      if (last.getLong(ID) == count - 1
+          && offset >= 0
+          && length >= Integer.BYTES
+          && offset <= dataLimit - length) {
+        dataSize = offset + length;
+        break;
+      }
+      count--;
+    }
+    index.truncate((long) count * RECORD_SIZE);
+    data.truncate(dataSize);
+  }
+
+  /**
+   * @return The history named by the {@code aptcrawler.history} system property, or null if it is
+   *     off.
+   * @throws IOException If the history cannot be opened.
+   */
+  public static ResultHistory fromSystemProperties() throws IOException {
+    String dir = System.getProperty("aptcrawler.history");
+    return dir == null || dir.isBlank() ? null : new ResultHistory(Path.of(dir));
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 3) {
+      System.err.println("Usage: ResultHistory <historyDir> trend|regressions <apt>");
+      System.exit(1);
+    }
+
+    try (ResultHistory history = new ResultHistory(Path.of(args[0]))) {
+      long start = System.nanoTime();
+      if (args[1].equals("trend")) {
+        List<Submission> submissions = history.submissions(args[2]);
+        double millis = (System.nanoTime() - start) / 1e6;
+        for (Submission submission : submissions) {
+          System.out.printf(
+              "#%d %tF %<tT  %d/%d passed (%.1f%%)  source %016x%n",
+              submission.id(),
+              submission.timestamp(),
+              submission.passCount(),
+              submission.rowCount(),
+              submission.passRate() * 100,
+              submission.sourceHash());
+        }
+        System.out.printf("%d submissions in %.2f ms%n", submissions.size(), millis);
+      } else {
+        List<Row> regressions = history.regressions(args[2]);
+        double millis = (System.nanoTime() - start) / 1e6;
+        for (Row row : regressions) {
+          System.out.printf(
+              "case %d: expected %s, got %s%n", row.caseIndex(), row.expected(), row.got());
+        }
+        System.out.printf("%d regressions in %.2f ms%n", regressions.size(), millis);
+      }
+    }
+  }
+
+  /**
+   * Reads every row of a results page.
+   *
+   * @param doc The results page.
+   * @return The rows, passing and failing, in page order.
+   */
+  public static List<Row> parseRows(Document doc) {
+    List<Row> rows = new ArrayList<>();
+    for (Element row : doc.select("table.border tr")) {
+      Elements cols = row.select("td");
+      if (cols.size() <= 2) {
+        continue;
+      }
+      int caseIndex;
+      try {
+        caseIndex = Integer.parseInt(cols.get(0).text().trim());
+      } catch (NumberFormatException e) {
+        caseIndex = rows.size();
+      }
+      Element expectedPreTag = cols.get(2).select("pre").first();
+      String expected = expectedPreTag != null ? expectedPreTag.text().trim() : "";
+      rows.add(
+          new Row(
+              caseIndex,
+              Status.of(cols.get(1).text().trim()),
+              expected,
+              APTCrawler.extractGotText(cols.get(2))));
+    }
+    return rows;
+  }
+
+  /**
+   * Appends a submission.
+   *
+   * @param aptName    The APT.
+   * @param sourceHash The hash of the submitted source, see {@link #hash}.
+   * @param rows       The rows of its results table.
+   * @return The recorded submission.
+   * @throws IOException If the history cannot be written.
+   */
+  public synchronized Submission append(String aptName, long sourceHash, List<Row> rows)
+      throws IOException {
+    List<byte[]> strings = new ArrayList<>(rows.size() * 2);
+    int length = Integer.BYTES;
+    int passes = 0;
+    for (Row row : rows) {
+      byte[] expected = row.expected().getBytes(StandardCharsets.UTF_8);
+      byte[] got = row.got().getBytes(StandardCharsets.UTF_8);
+      strings.add(expected);
+      strings.add(got);
+      length += Integer.BYTES + 1 + Integer.BYTES * 2 + expected.length + got.length;
+      if (row.status() == Status.PASS) {
+        passes++;
+      }
+    }
+
+    ByteBuffer block = ByteBuffer.allocate(length);
+    block.putInt(rows.size());
+    for (int i = 0; i < rows.size(); i++) {
+      Row row = rows.get(i);
+      block.putInt(row.caseIndex()).put((byte) row.status().ordinal());
+      putBytes(block, strings.get(2 * i));
+      putBytes(block, strings.get(2 * i + 1));
+    }
+    block.flip();
+    writeFully(data, block, dataSize);
+    data.force(false);
+
+    long timestamp = System.currentTimeMillis();
+    ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+    record
+        .putLong(count)
+        .putLong(timestamp)
+        .putLong(hash(aptName))
+        .putLong(dataSize)
+        .putLong(sourceHash)
+        .putInt(length)
+        .putInt(rows.size())
+        .putInt(passes);
+    record.clear();
+    writeFully(index, record, (long) count * RECORD_SIZE);
+    index.force(false);
+
+    Submission submission = new Submission(count, timestamp, rows.size(), passes, sourceHash);
+    dataSize += length;
+    count++;
+    return submission;
+  }
+
+  /**
+   * Lists an APT's submissions from the index alone, oldest first. Their pass rates make up the
+   * APT's trend.
+   *
+   * @param aptName The APT.
+   * @return The submissions.
+   * @throws IOException If the index cannot be read.
+   */
+  public synchronized List<Submission> submissions(String aptName) throws IOException {
+    MappedByteBuffer map = indexMap();
+    long key = hash(aptName);
+    List<Submission> submissions = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      if (map.getLong(i * RECORD_SIZE + APT_KEY) == key) {
+        submissions.add(submission(map, i));
+      }
+    }
+    return submissions;
+  }
+
+  /**
+   * Finds the cases that passed in an APT's second to last submission but not in its last one.
+   *
+   * @param aptName The APT.
+   * @return The regressed rows of the last submission, or an empty list if there are fewer than two
+   *     submissions.
+   * @throws IOException If the history cannot be read.
+   */
+  public synchronized List<Row> regressions(String aptName) throws IOException {
+    MappedByteBuffer map = indexMap();
+    long key = hash(aptName);
+    int latest = -1;
+    int previous = -1;
+    for (int i = count - 1; i >= 0 && previous < 0; i--) {
+      if (map.getLong(i * RECORD_SIZE + APT_KEY) == key) {
+        if (latest < 0) {
+          latest = i;
+        } else {
+          previous = i;
+        }
+      }
+    }
+    if (previous < 0) {
+      return List.of();
+    }
+
+    Map<Integer, Status> before = new HashMap<>();
+    for (Row row : rows(previous)) {
+      before.put(row.caseIndex(), row.status());
+    }
+    List<Row> regressions = new ArrayList<>();
+    for (Row row : rows(latest)) {
+      if (row.status() != Status.PASS && before.get(row.caseIndex()) == Status.PASS) {
+        regressions.add(row);
+      }
+    }
+    return regressions;
+  }
+
+  /**
+   * Decodes the rows of one submission by mapping only its block of the data log.
+   *
+   * @param id The submission's id.
+   * @return The rows.
+   * @throws IOException If the data log cannot be read.
+   */
+  public synchronized List<Row> rows(long id) throws IOException {
+    MappedByteBuffer map = indexMap();
+    int record = Math.toIntExact(id) * RECORD_SIZE;
+    MappedByteBuffer block =
+        data.map(
+            FileChannel.MapMode.READ_ONLY,
+            map.getLong(record + DATA_OFFSET),
+            map.getInt(record + DATA_LENGTH));
+
+    int size = block.getInt();
+    List<Row> rows = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      int caseIndex = block.getInt();
+      Status status = Status.values()[block.get()];
+      rows.add(new Row(caseIndex, status, getString(block), getString(block)));
+    }
+    return rows;
+  }
+
+  /**
+   * Hashes text with 64-bit FNV-1a over its UTF-8 bytes.
+   *
+   * @param text The text.
+   * @return The hash.
+   */
+  public static long hash(String text) {
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : text.getBytes(StandardCharsets.UTF_8)) {
+      hash ^= b & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    return hash;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    indexMap = null;
+    try {
+      data.close();
+    } finally {
+      index.close();
+    }
+  }
+
+  private MappedByteBuffer indexMap() throws IOException {
+    if (indexMap == null || indexMap.capacity() != count * RECORD_SIZE) {
+      indexMap = index.map(FileChannel.MapMode.READ_ONLY, 0, (long) count * RECORD_SIZE);
+    }
+    return indexMap;
+  }
+
+  private static Submission submission(MappedByteBuffer map, int i) {
+    int record = i * RECORD_SIZE;
+    return new Submission(
+        map.getLong(record + ID),
+        map.getLong(record + TIMESTAMP),
+        map.getInt(record + ROW_COUNT),
+        map.getInt(record + PASS_COUNT),
+        map.getLong(record + SOURCE_HASH));
+  }
+
+  private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+    buffer.putInt(bytes.length).put(bytes);
+  }
+
+  private static String getString(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position);
+      if (read < 0) {
+        throw new IOException("Unexpected end of " + channel);
+      }
+      position += read;
+    }
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long position)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+  }
+}
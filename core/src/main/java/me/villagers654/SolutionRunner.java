@@ -0,0 +1,455 @@
+package me.villagers654;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs one compiled implementation of an APT method, loaded in its own class loader so that a
+ * solution and a reference implementation of the same class can run side by side. Arguments are
+ * built from {@link CaseValues}, and results from different loaders are compared by structure.
+ *
+ * <p>{@code TreeNode} and {@code ListNode} are taken from the implementation's own classpath and
+ * filled in through their {@code info} or {@code val}, {@code left}, {@code right} and {@code
+ * next} fields.
+ *
+ * <p>Each call runs on a daemon thread of the runner's own and is abandoned once it has run longer
+ * than {@code aptcrawler.runTimeoutMs} (default 2000), so an input that sends an implementation
+ * into an endless loop costs one stray thread rather than the caller. Such a call's outcome is
+ * {@link Outcome#timedOut() timed out}. A stray thread cannot be stopped and keeps its core busy,
+ * so once {@code aptcrawler.maxStrayRuns} of them (default: the number of processors) are still
+ * running, further calls time out at once instead of starting.
+ */
+public final class SolutionRunner implements AutoCloseable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(SolutionRunner.class);
+
+  /** What a call produced: a return value, or the exception it threw. */
+  public record Outcome(Object value, Throwable error) {
+    public boolean failed() {
+      return error != null;
+    }
+
+    /** Whether the call was abandoned for running too long, rather than returning or throwing. */
+    public boolean timedOut() {
+      return error instanceof TimeoutException;
+    }
+
+    @Override
+    public String toString() {
+      return failed() ? "threw " + error : SolutionRunner.toString(value);
+    }
+  }
+
+  private final URLClassLoader loader;
+  private final Class<?> type;
+  private final Method method;
+  private final List<String> paramTypes;
+  private final long timeoutMillis = Long.getLong("aptcrawler.runTimeoutMs", 2000);
+  private final int maxStrayRuns =
+      Integer.getInteger("aptcrawler.maxStrayRuns", Runtime.getRuntime().availableProcessors());
+  private final ExecutorService calls;
+  private final AtomicInteger strayRuns = new AtomicInteger();
+  private final AtomicBoolean warnedStray = new AtomicBoolean();
+
+  /**
+   * @param classpath  The directory or jar holding the compiled class.
+   * @param className  The class declaring the method.
+   * @param methodName The method to run.
+   * @param paramTypes The method's parameter types, as written in its signature.
+   * @throws ReflectiveOperationException If the class or method cannot be found.
+   * @throws IOException                  If the classpath cannot be read.
+   */
+  public SolutionRunner(
+      Path classpath, String className, String methodName, List<String> paramTypes)
+      throws ReflectiveOperationException, IOException {
+    this.loader =
+        new URLClassLoader(
+            new URL[] {classpath.toUri().toURL()}, ClassLoader.getPlatformClassLoader());
+    this.type = loader.loadClass(className);
+    this.paramTypes = List.copyOf(paramTypes);
+
+    Method found = null;
+    for (Method candidate : type.getDeclaredMethods()) {
+      if (candidate.getName().equals(methodName)
+          && candidate.getParameterCount() == paramTypes.size()) {
+        found = candidate;
+        break;
+      }
+    }
+    if (found == null) {
+      throw new NoSuchMethodException(className + "." + methodName);
+    }
+    found.setAccessible(true);
+    this.method = found;
+
+    AtomicInteger count = new AtomicInteger();
+    this.calls =
+        Executors.newCachedThreadPool(
+            task -> {
+              Thread thread =
+                  new Thread(task, "run-" + methodName + "-" + count.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /**
+   * Calls the method on a fresh instance with arguments built from the values.
+   *
+   * @param values The argument values, one per parameter.
+   * @return The return value, what the call threw, or a {@link TimeoutException} if it did not
+   *     finish in time.
+   */
+  public Outcome run(List<Object> values) {
+    if (strayRuns.get() >= maxStrayRuns) {
+      if (warnedStray.compareAndSet(false, true)) {
+        LOGGER.warn("{} calls to {} never finished; not starting more", maxStrayRuns, method);
+      }
+      return new Outcome(null, new TimeoutException("Too many calls that never finished"));
+    }
+
+    // Set by whichever comes first: the call finishing, or the caller giving up on it
+    AtomicBoolean settled = new AtomicBoolean();
+    Future<Outcome> call =
+        calls.submit(
+            () -> {
+              try {
+                return invoke(values);
+              } finally {
+                if (!settled.compareAndSet(false, true)) {
+                  strayRuns.decrementAndGet();
+                }
+              }
+            });
+    try {
+      return call.get(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      if (settled.compareAndSet(false, true)) {
+        strayRuns.incrementAndGet();
+      }
+      // Interrupting only stops calls that wait; a busy loop keeps its thread until it ends
+      call.cancel(true);
+      return new Outcome(null, new TimeoutException("No result within " + timeoutMillis + " ms"));
+    } catch (InterruptedException e) {
+      call.cancel(true);
+      Thread.currentThread().interrupt();
+      return new Outcome(null, e);
+    } catch (ExecutionException e) {
+      return new Outcome(null, e.getCause());
+    }
+  }
+
+  private Outcome invoke(List<Object> values) {
+    try {
+      Object[] args = new Object[values.size()];
+      for (int i = 0; i < args.length; i++) {
+        args[i] = toArgument(values.get(i), CaseValues.normalize(paramTypes.get(i)));
+      }
+      Object target = null;
+      if (!Modifier.isStatic(method.getModifiers())) {
+        Constructor<?> constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        target = constructor.newInstance();
+      }
+      return new Outcome(method.invoke(target, args), null);
+    } catch (InvocationTargetException e) {
+      return new Outcome(null, e.getCause());
+    } catch (ReflectiveOperationException | RuntimeException | StackOverflowError e) {
+      return new Outcome(null, e);
+    }
+  }
+
+  private Object toArgument(Object value, String type) throws ReflectiveOperationException {
+    if (type.equals("TreeNode")) {
+      return toTreeNode((CaseValues.Tree) value);
+    } else if (type.equals("ListNode")) {
+      return toListNode((List<?>) value);
+    } else if (type.startsWith("List<")) {
+      String elementType = CaseValues.elementType(type);
+      List<Object> list = new ArrayList<>();
+      for (Object element : (List<?>) value) {
+        list.add(toArgument(element, elementType));
+      }
+      return list;
+    } else if (type.endsWith("[]")) {
+      String elementType = CaseValues.elementType(type);
+      List<?> elements = (List<?>) value;
+      // The common primitive arrays skip reflection; shrinking builds them for every candidate
+      switch (elementType) {
+        case "int" -> {
+          int[] array = new int[elements.size()];
+          for (int i = 0; i < array.length; i++) {
+            array[i] = number(elements.get(i), elementType).intValue();
+          }
+          return array;
+        }
+        case "long" -> {
+          long[] array = new long[elements.size()];
+          for (int i = 0; i < array.length; i++) {
+            array[i] = number(elements.get(i), elementType).longValue();
+          }
+          return array;
+        }
+        case "double" -> {
+          double[] array = new double[elements.size()];
+          for (int i = 0; i < array.length; i++) {
+            array[i] = number(elements.get(i), elementType).doubleValue();
+          }
+          return array;
+        }
+        default -> {}
+      }
+      Object array = Array.newInstance(classFor(elementType), elements.size());
+      for (int i = 0; i < elements.size(); i++) {
+        Array.set(array, i, toArgument(elements.get(i), elementType));
+      }
+      return array;
+    }
+
+    if (value instanceof Number number) {
+      return switch (type) {
+        case "int", "Integer" -> number.intValue();
+        case "long", "Long" -> number.longValue();
+        case "short", "Short" -> number.shortValue();
+        case "byte", "Byte" -> number.byteValue();
+        case "double", "Double" -> number.doubleValue();
+        case "float", "Float" -> number.floatValue();
+        default -> throw new IllegalArgumentException("Unsupported parameter type: " + type);
+      };
+    }
+
+    String text = ((String) value).trim();
+    return switch (type) {
+      case "int", "Integer" -> Integer.parseInt(text);
+      case "long", "Long" -> Long.parseLong(text.replace("L", ""));
+      case "short", "Short" -> Short.parseShort(text);
+      case "byte", "Byte" -> Byte.parseByte(text);
+      case "double", "Double" -> Double.parseDouble(text);
+      case "float", "Float" -> Float.parseFloat(text);
+      case "boolean", "Boolean" -> Boolean.parseBoolean(text);
+      case "char", "Character" -> text.isEmpty() ? ' ' : text.charAt(0);
+      case "String" -> value;
+      default -> throw new IllegalArgumentException("Unsupported parameter type: " + type);
+    };
+  }
+
+  private Number number(Object value, String type) throws ReflectiveOperationException {
+    return value instanceof Number number ? number : (Number) toArgument(value, type);
+  }
+
+  private Class<?> classFor(String type) throws ClassNotFoundException {
+    if (type.endsWith("[]")) {
+      return classFor(type.substring(0, type.length() - 2)).arrayType();
+    }
+    return switch (type) {
+      case "int" -> int.class;
+      case "long" -> long.class;
+      case "short" -> short.class;
+      case "byte" -> byte.class;
+      case "double" -> double.class;
+      case "float" -> float.class;
+      case "boolean" -> boolean.class;
+      case "char" -> char.class;
+      case "Integer" -> Integer.class;
+      case "Long" -> Long.class;
+      case "Double" -> Double.class;
+      case "Character" -> Character.class;
+      case "Boolean" -> Boolean.class;
+      case "String" -> String.class;
+      default -> type.startsWith("List<") ? List.class : loader.loadClass(type);
+    };
+  }
+
+  private Object toTreeNode(CaseValues.Tree root) throws ReflectiveOperationException {
+    if (root == null) {
+      return null;
+    }
+    Class<?> nodeType = loader.loadClass("TreeNode");
+    Field left = field(nodeType, "left");
+    Field right = field(nodeType, "right");
+
+    Map<CaseValues.Tree, Object> built = new IdentityHashMap<>();
+    Deque<CaseValues.Tree> stack = new ArrayDeque<>();
+    stack.push(root);
+    while (!stack.isEmpty()) {
+      CaseValues.Tree node = stack.pop();
+      Object instance = newNode(nodeType, Integer.parseInt(node.value().trim()));
+      built.put(node, instance);
+      if (node.left() != null) {
+        stack.push(node.left());
+      }
+      if (node.right() != null) {
+        stack.push(node.right());
+      }
+    }
+    for (Map.Entry<CaseValues.Tree, Object> entry : built.entrySet()) {
+      CaseValues.Tree node = entry.getKey();
+      left.set(entry.getValue(), node.left() == null ? null : built.get(node.left()));
+      right.set(entry.getValue(), node.right() == null ? null : built.get(node.right()));
+    }
+    return built.get(root);
+  }
+
+  private Object toListNode(List<?> values) throws ReflectiveOperationException {
+    Class<?> nodeType = loader.loadClass("ListNode");
+    Field next = field(nodeType, "next");
+    Object head = null;
+    for (int i = values.size() - 1; i >= 0; i--) {
+      Object node = newNode(nodeType, number(values.get(i), "int").intValue());
+      next.set(node, head);
+      head = node;
+    }
+    return head;
+  }
+
+  /** Creates a node through its {@code (int)} constructor, or sets its value field directly. */
+  private static Object newNode(Class<?> nodeType, int value) throws ReflectiveOperationException {
+    try {
+      Constructor<?> constructor = nodeType.getDeclaredConstructor(int.class);
+      constructor.setAccessible(true);
+      return constructor.newInstance(value);
+    } catch (NoSuchMethodException e) {
+      Constructor<?> constructor = nodeType.getDeclaredConstructor();
+      constructor.setAccessible(true);
+      Object node = constructor.newInstance();
+      Field info;
+      try {
+        info = field(nodeType, "info");
+      } catch (NoSuchFieldException missing) {
+        info = field(nodeType, "val");
+      }
+      info.setInt(node, value);
+      return node;
+    }
+  }
+
+  private static Field field(Class<?> type, String name) throws NoSuchFieldException {
+    Field field = type.getDeclaredField(name);
+    field.setAccessible(true);
+    return field;
+  }
+
+  /**
+   * Compares two results by structure, so that values built by different class loaders are equal
+   * when their arrays, lists and fields are. JDK types other than arrays and lists use their own
+   * {@code equals}. Walks the values with an explicit stack, so deep trees and long lists are fine.
+   *
+   * @param a The first value.
+   * @param b The second value.
+   * @return True if the values are structurally equal.
+   */
+  public static boolean deepEquals(Object a, Object b) {
+    Deque<Object[]> pending = new ArrayDeque<>();
+    Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    pending.push(new Object[] {a, b});
+    while (!pending.isEmpty()) {
+      Object[] pair = pending.pop();
+      Object x = pair[0];
+      Object y = pair[1];
+      if (x == null || y == null) {
+        if (x != y) {
+          return false;
+        }
+        continue;
+      }
+
+      if (x.getClass().isArray()) {
+        if (!y.getClass().isArray() || Array.getLength(x) != Array.getLength(y)) {
+          return false;
+        }
+        for (int i = Array.getLength(x) - 1; i >= 0; i--) {
+          pending.push(new Object[] {Array.get(x, i), Array.get(y, i)});
+        }
+      } else if (x instanceof List<?> xs) {
+        if (!(y instanceof List<?> ys) || xs.size() != ys.size()) {
+          return false;
+        }
+        for (int i = xs.size() - 1; i >= 0; i--) {
+          pending.push(new Object[] {xs.get(i), ys.get(i)});
+        }
+      } else if (isJdkType(x.getClass())) {
+        if (!x.equals(y)) {
+          return false;
+        }
+      } else {
+        if (!x.getClass().getName().equals(y.getClass().getName())) {
+          return false;
+        }
+        if (!visited.add(x)) {
+          continue;
+        }
+        try {
+          for (Class<?> c = x.getClass(); c != null && !isJdkType(c); c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+              if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+              }
+              Field other = y.getClass().getDeclaredField(field.getName());
+              field.setAccessible(true);
+              other.setAccessible(true);
+              pending.push(new Object[] {field.get(x), other.get(y)});
+            }
+          }
+        } catch (ReflectiveOperationException e) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static boolean isJdkType(Class<?> type) {
+    ClassLoader loader = type.getClassLoader();
+    return loader == null || loader == ClassLoader.getPlatformClassLoader();
+  }
+
+  /**
+   * Renders a result for display, expanding arrays.
+   *
+   * @param value The result.
+   * @return Its text.
+   */
+  static String toString(Object value) {
+    if (value == null) {
+      return "null";
+    } else if (value.getClass().isArray()) {
+      List<String> elements = new ArrayList<>();
+      for (int i = 0; i < Array.getLength(value); i++) {
+        elements.add(toString(Array.get(value, i)));
+      }
+      return elements.toString();
+    }
+    return String.valueOf(value);
+  }
+
+  @Override
+  public void close() throws IOException {
+    calls.shutdownNow();
+    loader.close();
+  }
+}
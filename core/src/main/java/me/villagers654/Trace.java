@@ -0,0 +1,196 @@
+package me.villagers654;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Optional timeline of a crawl in the Chrome trace-event format, viewable in Perfetto or {@code
+ * chrome://tracing}. Closed spans are claimed a slot in a fixed-size ring buffer with a single
+ * atomic increment, so recording takes no locks and does no I/O, and the buffer is written out as
+ * JSON when the JVM exits. When the buffer wraps, the oldest spans are dropped. Each slot holds one
+ * immutable event published with release semantics, so {@link #flush()} never reads half of a
+ * span, even when two spans race for the same slot after a wrap or one closes during shutdown.
+ *
+ * <p>Enabled by setting the {@code aptcrawler.trace} system property to the output file; {@code
+ * aptcrawler.traceBuffer} sets the number of spans kept (default 65536). When disabled, opening a
+ * span returns a shared no-op instance.
+ */
+public final class Trace {
+  private static final Logger LOGGER = LoggerFactory.getLogger(Trace.class);
+  private static final String OUTPUT = System.getProperty("aptcrawler.trace");
+  private static final boolean ENABLED = OUTPUT != null && !OUTPUT.isBlank();
+  private static final Span NO_OP = new Span(null, null, 0);
+
+  private static final int CAPACITY =
+      Integer.highestOneBit(Math.max(1, Integer.getInteger("aptcrawler.traceBuffer", 65536)));
+  private static final long ORIGIN = System.nanoTime();
+
+  private static final AtomicLong sequence = new AtomicLong();
+  private static final AtomicReferenceArray<Event> events =
+      new AtomicReferenceArray<>(ENABLED ? CAPACITY : 0);
+
+  private static final Map<Long, String> threadNames = new ConcurrentHashMap<>();
+  private static final ThreadLocal<String> currentApt = new ThreadLocal<>();
+
+  static {
+    if (ENABLED) {
+      Runtime.getRuntime().addShutdownHook(new Thread(Trace::flush, "trace-writer"));
+    }
+  }
+
+  private Trace() {}
+
+  public static boolean isEnabled() {
+    return ENABLED;
+  }
+
+  /**
+   * Sets the APT that spans opened on this thread are tagged with.
+   *
+   * @param apt The APT name, or null to clear it.
+   */
+  public static void setCurrentApt(String apt) {
+    if (!ENABLED) {
+      return;
+    }
+    if (apt == null) {
+      currentApt.remove();
+    } else {
+      currentApt.set(apt);
+    }
+  }
+
+  /**
+   * Opens a span tagged with the current thread's APT.
+   *
+   * @param name The span name.
+   * @return The span, to be closed when the work ends.
+   */
+  public static Span span(String name) {
+    return ENABLED ? span(name, currentApt.get()) : NO_OP;
+  }
+
+  /**
+   * Opens a span.
+   *
+   * @param name The span name.
+   * @param apt  The APT the work belongs to, possibly null.
+   * @return The span, to be closed when the work ends.
+   */
+  public static Span span(String name, String apt) {
+    if (!ENABLED) {
+      return NO_OP;
+    }
+    Thread thread = Thread.currentThread();
+    threadNames.putIfAbsent(thread.threadId(), thread.getName());
+    return new Span(name, apt, System.nanoTime());
+  }
+
+  /** A closed span as written to the trace; times are in nanoseconds since the trace began. */
+  private record Event(String name, String apt, long thread, long start, long duration) {}
+
+  private static void record(String name, String apt, long start, long end) {
+    Event event =
+        new Event(name, apt, Thread.currentThread().threadId(), start - ORIGIN, end - start);
+    int slot = (int) (sequence.getAndIncrement() & (CAPACITY - 1));
+    events.setRelease(slot, event);
+  }
+
+  /** Writes the recorded spans to the configured file. */
+  public static synchronized void flush() {
+    if (!ENABLED) {
+      return;
+    }
+    long recorded = sequence.get();
+    long first = Math.max(0, recorded - CAPACITY);
+
+    StringBuilder json = new StringBuilder(128 + (int) (recorded - first) * 128);
+    json.append("{\"displayTimeUnit\":\"ms\",\"traceEvents\":[");
+    boolean comma = false;
+    for (Map.Entry<Long, String> thread : threadNames.entrySet()) {
+      if (comma) {
+        json.append(',');
+      }
+      json.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":")
+          .append(thread.getKey())
+          .append(",\"args\":{\"name\":");
+      appendString(json, thread.getValue());
+      json.append("}}");
+      comma = true;
+    }
+    for (long i = first; i < recorded; i++) {
+      // A slot claimed but not yet published is still empty
+      Event event = events.getAcquire((int) (i & (CAPACITY - 1)));
+      if (event == null) {
+        continue;
+      }
+      if (comma) {
+        json.append(',');
+      }
+      json.append("{\"name\":");
+      appendString(json, event.name());
+      json.append(",\"cat\":\"crawl\",\"ph\":\"X\",\"pid\":1,\"tid\":")
+          .append(event.thread())
+          .append(",\"ts\":")
+          .append(event.start() / 1000.0)
+          .append(",\"dur\":")
+          .append(event.duration() / 1000.0);
+      if (event.apt() != null) {
+        json.append(",\"args\":{\"apt\":");
+        appendString(json, event.apt());
+        json.append('}');
+      }
+      json.append('}');
+      comma = true;
+    }
+    json.append("]}\n");
+
+    try {
+      OutputManager.writeAtomically(Path.of(OUTPUT), json);
+      LOGGER.info("Trace written to {}", OUTPUT);
+    } catch (IOException e) {
+      LOGGER.error("Failed to write trace: {}", e.getMessage());
+    }
+  }
+
+  private static void appendString(StringBuilder json, String value) {
+    json.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        json.append('\\').append(c);
+      } else if (c < 0x20) {
+        json.append(String.format("\\u%04x", (int) c));
+      } else {
+        json.append(c);
+      }
+    }
+    json.append('"');
+  }
+
+  /** A span of work, recorded when closed. */
+  public static final class Span implements AutoCloseable {
+    private final String name;
+    private final String apt;
+    private final long start;
+
+    private Span(String name, String apt, long start) {
+      this.name = name;
+      this.apt = apt;
+      this.start = start;
+    }
+
+    @Override
+    public void close() {
+      if (name != null) {
+        record(name, apt, start, System.nanoTime());
+      }
+    }
+  }
+}
@@ -0,0 +1,19 @@
+package me.villagers654;
+
+/**
+ * Converts one value in the grader's text syntax into a Java source literal of a particular type.
+ * Implementations are looked up through {@link TypeCodecs}.
+ */
+@FunctionalInterface
+public interface TypeCodec {
+
+  /**
+   * Writes the Java literal for the value found in {@code src[start, end)}.
+   *
+   * @param src   The text containing the value, already trimmed to the given range.
+   * @param start The index of the first character of the value.
+   * @param end   The index one past the last character of the value.
+   * @param out   The buffer the literal is appended to.
+   */
+  void write(CharSequence src, int start, int end, StringBuilder out);
+}
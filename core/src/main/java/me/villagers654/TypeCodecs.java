@@ -0,0 +1,296 @@
+package me.villagers654;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry of {@link TypeCodec}s keyed by the parameter type as written in a method signature.
+ * Scalar types are registered up front; array types ({@code T[]}, {@code T[][]}) and {@code
+ * List<T>} are composed from their element codec the first time they are requested and cached
+ * until a codec is registered again.
+ */
+public final class TypeCodecs {
+  private static final Logger LOGGER = LoggerFactory.getLogger(TypeCodecs.class);
+  private static final Map<String, TypeCodec> CODECS = new ConcurrentHashMap<>();
+  // Codecs built by forType from the registered ones, dropped whenever a registration changes
+  private static final Map<String, TypeCodec> COMPOSED = new ConcurrentHashMap<>();
+
+  static {
+    TypeCodec raw = TypeCodecs::writeRaw;
+    register("int", raw);
+    register("short", raw);
+    register("byte", raw);
+    register("Integer", raw);
+    register("Short", raw);
+    register("Byte", raw);
+    register("long", TypeCodecs::writeLong);
+    register("Long", TypeCodecs::writeLong);
+    register("double", TypeCodecs::writeDouble);
+    register("Double", TypeCodecs::writeDouble);
+    register("float", TypeCodecs::writeFloat);
+    register("Float", TypeCodecs::writeFloat);
+    register("boolean", TypeCodecs::writeBoolean);
+    register("Boolean", TypeCodecs::writeBoolean);
+    register("char", TypeCodecs::writeChar);
+    register("Character", TypeCodecs::writeChar);
+    register("String", TypeCodecs::writeString);
+    register("TreeNode", (src, s, e, out) -> writeCall("Nodes.parseTree", src, s, e, out));
+    register("ListNode", (src, s, e, out) -> writeCall("Nodes.parseList", src, s, e, out));
+  }
+
+  private TypeCodecs() {}
+
+  /**
+   * Registers or replaces the codec for a type.
+   *
+   * @param type  The type as it appears in a method signature.
+   * @param codec The codec to use for values of that type.
+   */
+  public static void register(String type, TypeCodec codec) {
+    CODECS.put(type.replace(" ", ""), codec);
+    // Composed codecs and literals formatted with the old codec are stale
+    COMPOSED.clear();
+    LiteralCache.PARAMETERS.clear();
+    LiteralCache.EXPECTED.clear();
+  }
+
+  /**
+   * Resolves the codec for a type, composing array and list codecs as needed. Unknown types fall
+   * back to copying the value unchanged.
+   *
+   * @param type The type as it appears in a method signature.
+   * @return The codec for the type, never null.
+   */
+  public static TypeCodec forType(String type) {
+    String key = type.replace(" ", "");
+    TypeCodec codec = CODECS.get(key);
+    if (codec == null) {
+      codec = COMPOSED.get(key);
+    }
+    if (codec != null) {
+      return codec;
+    }
+
+    if (key.endsWith("[]")) {
+      codec = new ArrayCodec(key, forType(key.substring(0, key.length() - 2)));
+    } else if (key.startsWith("List<") && key.endsWith(">")) {
+      codec = new ListCodec(forType(key.substring(5, key.length() - 1)));
+    } else {
+      LOGGER.warn("Unhandled parameter type: {}", type);
+      codec = TypeCodecs::writeRaw;
+    }
+    COMPOSED.put(key, codec);
+    return codec;
+  }
+
+  private static void writeRaw(CharSequence src, int start, int end, StringBuilder out) {
+    out.append(src, start, end);
+  }
+
+  private static void writeLong(CharSequence src, int start, int end, StringBuilder out) {
+    out.append(src, start, end).append('L');
+  }
+
+  private static void writeDouble(CharSequence src, int start, int end, StringBuilder out) {
+    if (writeNonFinite("Double", src, start, end, out)) {
+      return;
+    }
+    out.append(src, start, end);
+    // Integral-looking values must still be doubles, e.g. inside Arrays.asList
+    if (isIntegral(src, start, end)) {
+      out.append(".0");
+    }
+  }
+
+  private static void writeFloat(CharSequence src, int start, int end, StringBuilder out) {
+    if (writeNonFinite("Float", src, start, end, out)) {
+      return;
+    }
+    out.append(src, start, end).append('f');
+  }
+
+  /**
+   * Writes the grader's {@code NaN} and {@code Infinity} values as the boxed type's constants,
+   * since the raw text is not a Java literal.
+   *
+   * @return False if the value is finite and was not written.
+   */
+  private static boolean writeNonFinite(
+      String boxed, CharSequence src, int start, int end, StringBuilder out) {
+    String constant;
+    if (matches(src, start, end, "NaN")) {
+      constant = "NaN";
+    } else if (matches(src, start, end, "Infinity") || matches(src, start, end, "+Infinity")) {
+      constant = "POSITIVE_INFINITY";
+    } else if (matches(src, start, end, "-Infinity")) {
+      constant = "NEGATIVE_INFINITY";
+    } else {
+      return false;
+    }
+    out.append(boxed).append('.').append(constant);
+    return true;
+  }
+
+  private static boolean matches(CharSequence src, int start, int end, String text) {
+    if (end - start != text.length()) {
+      return false;
+    }
+    for (int i = 0; i < text.length(); i++) {
+      if (src.charAt(start + i) != text.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void writeBoolean(CharSequence src, int start, int end, StringBuilder out) {
+    for (int i = start; i < end; i++) {
+      out.append(Character.toLowerCase(src.charAt(i)));
+    }
+  }
+
+  private static void writeChar(CharSequence src, int start, int end, StringBuilder out) {
+    out.append('\'');
+    appendEscaped(end > start ? src.charAt(start) : ' ', '\'', out);
+    out.append('\'');
+  }
+
+  private static void writeString(CharSequence src, int start, int end, StringBuilder out) {
+    out.append('"');
+    for (int i = start; i < end; i++) {
+      appendEscaped(src.charAt(i), '"', out);
+    }
+    out.append('"');
+  }
+
+  private static void writeCall(
+      String method, CharSequence src, int start, int end, StringBuilder out) {
+    out.append(method).append('(');
+    writeString(src, start, end, out);
+    out.append(')');
+  }
+
+  private static void appendEscaped(char c, char quote, StringBuilder out) {
+    if (c == '\\' || c == quote) {
+      out.append('\\').append(c);
+    } else if (c == '\n') {
+      out.append("\\n");
+    } else if (c == '\t') {
+      out.append("\\t");
+    } else {
+      out.append(c);
+    }
+  }
+
+  private static boolean isIntegral(CharSequence src, int start, int end) {
+    for (int i = start; i < end; i++) {
+      char c = src.charAt(i);
+      if (c == '.' || c == 'e' || c == 'E' || c == 'N' || c == 'I') {
+        return false;
+      }
+    }
+    return end > start;
+  }
+
+  /**
+   * Calls {@code action} for every top-level comma separated element inside the brackets at {@code
+   * src[start, end)}, with each element range trimmed. Empty elements, as in {@code [1,,2]} or a
+   * trailing comma, are skipped with a warning since no codec can write them.
+   *
+   * @return False if the range is not enclosed in brackets.
+   */
+  private static boolean forEachElement(
+      CharSequence src, int start, int end, TypeCodec action, StringBuilder out) {
+    if (end - start < 2 || src.charAt(start) != '[' || src.charAt(end - 1) != ']') {
+      return false;
+    }
+
+    int depth = 0;
+    int elementStart = start + 1;
+    boolean first = true;
+    for (int i = start + 1; i < end; i++) {
+      char c = src.charAt(i);
+      if (c == '[' || c == '{') {
+        depth++;
+      } else if ((c == ']' || c == '}') && i < end - 1) {
+        depth--;
+      } else if ((c == ',' && depth == 0) || i == end - 1) {
+        int s = elementStart;
+        int e = i;
+        while (s < e && Character.isWhitespace(src.charAt(s))) s++;
+        while (e > s && Character.isWhitespace(src.charAt(e - 1))) e--;
+        if (s < e) {
+          if (!first) {
+            out.append(", ");
+          }
+          action.write(src, s, e, out);
+          first = false;
+        } else if (c == ',' || !first) {
+          // Only "[]" may be empty
+          LOGGER.warn("Skipping an empty element in {}", src.subSequence(start, end));
+        }
+        elementStart = i + 1;
+      }
+    }
+    return true;
+  }
+
+  /** {@code T[]}, written as {@code new T[]{...}} with nested arrays as bare initializers. */
+  private static final class ArrayCodec implements TypeCodec {
+    private final String type;
+    private final TypeCodec element;
+
+    ArrayCodec(String type, TypeCodec element) {
+      this.type = type;
+      this.element = element;
+    }
+
+    @Override
+    public void write(CharSequence src, int start, int end, StringBuilder out) {
+      int mark = out.length();
+      out.append("new ").append(type);
+      if (!writeInitializer(src, start, end, out)) {
+        LOGGER.warn("Unexpected format for {} parameter: {}", type, src.subSequence(start, end));
+        out.setLength(mark);
+        out.append(src, start, end);
+      }
+    }
+
+    private boolean writeInitializer(CharSequence src, int start, int end, StringBuilder out) {
+      out.append('{');
+      TypeCodec action =
+          element instanceof ArrayCodec nested
+              ? (s, b, e, o) -> nested.writeInitializer(s, b, e, o)
+              : element;
+      if (!forEachElement(src, start, end, action, out)) {
+        return false;
+      }
+      out.append('}');
+      return true;
+    }
+  }
+
+  /** {@code List<T>}, written as {@code Arrays.asList(...)}. */
+  private static final class ListCodec implements TypeCodec {
+    private final TypeCodec element;
+
+    ListCodec(TypeCodec element) {
+      this.element = element;
+    }
+
+    @Override
+    public void write(CharSequence src, int start, int end, StringBuilder out) {
+      int mark = out.length();
+      out.append("Arrays.asList(");
+      if (!forEachElement(src, start, end, element, out)) {
+        LOGGER.warn("Unexpected format for List parameter: {}", src.subSequence(start, end));
+        out.setLength(mark);
+        out.append(src, start, end);
+        return;
+      }
+      out.append(')');
+    }
+  }
+}
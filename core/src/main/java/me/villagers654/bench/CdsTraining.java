@@ -0,0 +1,79 @@
+package me.villagers654.bench;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import me.villagers654.APTCrawler;
+import me.villagers654.OutputManager;
+import me.villagers654.ResultHistory;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+/**
+ * Training run for the class-data-sharing archive: drives the offline paths over a recorded
+ * problem page and results page bundled with the jar, so that the classes they load are the ones
+ * dumped by {@code -XX:ArchiveClassesAtExit}. The build's {@code cdsArchive} task runs it, and
+ * {@link StartupBenchmark} uses it as the workload whose first output it times.
+ *
+ * <p>Usage: {@code CdsTraining}. Prints one summary line once the test class has been written.
+ */
+public class CdsTraining {
+  private static final String PROBLEM_PAGE = "/bench/sample-problem.html";
+  private static final String RESULTS_PAGE = "/bench/sample-results.html";
+
+  public static void main(String[] args) throws IOException {
+    long start = System.nanoTime();
+    run();
+    System.out.printf("Trained offline paths in %.1f ms%n", (System.nanoTime() - start) / 1e6);
+  }
+
+  /**
+   * Formats the sample skeleton and generates tests from the sample results into a scratch
+   * directory, which is removed afterwards.
+   *
+   * @return The source of the generated test class.
+   * @throws IOException If the scratch directory cannot be created or cleaned up.
+   */
+  public static String run() throws IOException {
+    Document problem = Jsoup.parse(resource(PROBLEM_PAGE));
+    String formatted = APTCrawler.formatJavaCode(APTCrawler.extractSkeleton(problem));
+    String signature = APTCrawler.findFirstMethodSignature(formatted);
+
+    Document results = Jsoup.parse(resource(RESULTS_PAGE));
+    List<ResultHistory.Row> rows = ResultHistory.parseRows(results);
+    if (rows.isEmpty()) {
+      throw new IllegalStateException("Sample results page has no rows");
+    }
+
+    Path scratch = Files.createTempDirectory("aptcrawler-cds");
+    Path testFile = scratch.resolve(OutputManager.GENERATED_TEST_FILE);
+    try {
+      APTCrawler.doWork(results, signature, testFile);
+      return Files.readString(testFile);
+    } finally {
+      Files.deleteIfExists(testFile);
+      Files.deleteIfExists(scratch);
+    }
+  }
+
+  /**
+   * Reads a page bundled with the jar.
+   *
+   * @param name The absolute resource name.
+   * @return The page's HTML.
+   */
+  private static String resource(String name) {
+    try (InputStream in = CdsTraining.class.getResourceAsStream(name)) {
+      if (in == null) {
+        throw new IllegalStateException("Missing training resource " + name);
+      }
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,169 @@
+package me.villagers654.bench;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import me.villagers654.APTCrawler;
+import me.villagers654.AsyncConsole;
+import me.villagers654.LiteralCache;
+import me.villagers654.ResultCorpus;
+import me.villagers654.Trace;
+import org.jsoup.Jsoup;
+
+/**
+ * Replays the generation stage over a recorded {@link ResultCorpus}: skeleton extraction,
+ * formatting, signature parsing and test generation, in parallel on a fork-join pool and without a
+ * browser. Reports throughput and any differences from each run's saved baseline.
+ *
+ * <p>Usage: {@code ReplayBenchmark <corpusDir> [--update-baseline] [--parallelism N]}. Runs without
+ * a baseline get one written on their first replay.
+ */
+public class ReplayBenchmark {
+
+  /** The outcome of replaying one run. */
+  record Outcome(
+      ResultCorpus.Entry entry, long htmlChars, long nanos, String generated, String diff) {}
+
+  public static void main(String[] args) throws Exception {
+    AsyncConsole.install();
+    if (args.length < 1) {
+      System.err.println(
+          "Usage: ReplayBenchmark <corpusDir> [--update-baseline] [--parallelism N]");
+      System.exit(1);
+    }
+
+    Path corpusDir = Path.of(args[0]);
+    boolean updateBaseline = false;
+    int parallelism = Runtime.getRuntime().availableProcessors();
+    for (int i = 1; i < args.length; i++) {
+      if (args[i].equals("--update-baseline")) {
+        updateBaseline = true;
+      } else if (args[i].equals("--parallelism") && i + 1 < args.length) {
+        parallelism = Integer.parseInt(args[++i]);
+      }
+    }
+
+    List<ResultCorpus.Entry> entries = new ResultCorpus(corpusDir).entries();
+    if (entries.isEmpty()) {
+      System.err.println("No recorded runs found in " + corpusDir);
+      System.exit(1);
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(parallelism);
+    long start = System.nanoTime();
+    List<Outcome> outcomes;
+    try {
+      outcomes =
+          pool.submit(() -> entries.parallelStream().map(ReplayBenchmark::replay).toList()).get();
+    } finally {
+      pool.shutdown();
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    long htmlChars = 0;
+    long runNanos = 0;
+    int diffs = 0;
+    int newBaselines = 0;
+    for (Outcome outcome : outcomes) {
+      htmlChars += outcome.htmlChars();
+      runNanos += outcome.nanos();
+      String run = outcome.entry().getDir().getFileName().toString();
+      if (outcome.generated() == null) {
+        diffs++;
+        System.out.println("FAIL " + run + ": " + outcome.diff());
+      } else if (outcome.diff() == null) {
+        continue;
+      } else if (updateBaseline || outcome.diff().isEmpty()) {
+        outcome.entry().writeBaseline(outcome.generated());
+        newBaselines++;
+      } else {
+        diffs++;
+        System.out.println("DIFF " + run + ": " + outcome.diff());
+      }
+    }
+
+    System.out.println();
+    System.out.printf(
+        "Replayed %d runs on %d threads in %.2f s: %.1f runs/s, %.1f MB/s of HTML%n",
+        outcomes.size(),
+        parallelism,
+        seconds,
+        outcomes.size() / seconds,
+        htmlChars / 1e6 / seconds);
+    System.out.printf("Mean generation time per run: %.2f ms%n", runNanos / 1e6 / outcomes.size());
+    System.out.printf(
+        "Literal caches: parameters %s; expected %s%n",
+        LiteralCache.PARAMETERS, LiteralCache.EXPECTED);
+    System.out.printf(
+        "%d matched the baseline, %d differed, %d baselines written%n",
+        outcomes.size() - diffs - newBaselines, diffs, newBaselines);
+    if (diffs > 0) {
+      System.exit(2);
+    }
+  }
+
+  /**
+   * Runs the generation stage for one recorded run and compares it with the baseline.
+   *
+   * @param entry The recorded run.
+   * @return The outcome; its diff is null on a match, empty if there was no baseline, and otherwise
+   *     describes the first differing line.
+   */
+  private static Outcome replay(ResultCorpus.Entry entry) {
+    long start = System.nanoTime();
+    Trace.setCurrentApt(entry.getAptName());
+    try {
+      String problemHtml = entry.problemHtml();
+      String resultsHtml = entry.resultsHtml();
+
+      String skeleton = APTCrawler.extractSkeleton(Jsoup.parse(problemHtml));
+      String formattedCode = APTCrawler.formatJavaCode(skeleton);
+      String methodSignature = APTCrawler.findFirstMethodSignature(formattedCode);
+      if (methodSignature == null) {
+        methodSignature = entry.getMethodSignature();
+      }
+      String generated = APTCrawler.generateTestSource(Jsoup.parse(resultsHtml), methodSignature);
+      long nanos = System.nanoTime() - start;
+
+      String baseline = entry.baseline();
+      String diff;
+      if (generated == null) {
+        diff = "no test source generated";
+      } else if (baseline == null) {
+        diff = "";
+      } else {
+        diff = firstDifference(baseline, generated);
+      }
+      return new Outcome(
+          entry, problemHtml.length() + resultsHtml.length(), nanos, generated, diff);
+    } catch (Exception e) {
+      return new Outcome(entry, 0, System.nanoTime() - start, null, "replay failed: " + e);
+    } finally {
+      Trace.setCurrentApt(null);
+    }
+  }
+
+  /**
+   * @return Null if the texts are equal, otherwise a description of the first differing line.
+   */
+  private static String firstDifference(String expected, String actual) {
+    if (expected.equals(actual)) {
+      return null;
+    }
+    String[] expectedLines = expected.split("\n", -1);
+    String[] actualLines = actual.split("\n", -1);
+    int lines = Math.min(expectedLines.length, actualLines.length);
+    for (int i = 0; i < lines; i++) {
+      if (!expectedLines[i].equals(actualLines[i])) {
+        return "line "
+            + (i + 1)
+            + ": expected '"
+            + expectedLines[i].trim()
+            + "' but got '"
+            + actualLines[i].trim()
+            + "'";
+      }
+    }
+    return "expected " + expectedLines.length + " lines but got " + actualLines.length;
+  }
+}
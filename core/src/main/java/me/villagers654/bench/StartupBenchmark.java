@@ -0,0 +1,113 @@
+package me.villagers654.bench;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Measures JVM startup as the time from launching a fresh process to its first byte of standard
+ * output, with class-data sharing off, with only the JDK's default archive, and with the
+ * application archive built by the {@code cdsArchive} task.
+ *
+ * <p>Usage: {@code StartupBenchmark <jar> <archive> [runs] [mainClass [args...]]}. The main class
+ * defaults to {@link CdsTraining}, whose first output follows the offline formatting and test
+ * generation paths.
+ */
+public class StartupBenchmark {
+  private static final int DEFAULT_RUNS = 10;
+
+  /** A JVM configuration to time. */
+  record Mode(String name, List<String> jvmArgs) {}
+
+  public static void main(String[] args) throws Exception {
+    if (args.length < 2) {
+      System.err.println("Usage: StartupBenchmark <jar> <archive> [runs] [mainClass [args...]]");
+      System.exit(1);
+    }
+
+    Path jar = Path.of(args[0]);
+    Path archive = Path.of(args[1]);
+    int runs = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_RUNS;
+    String mainClass = args.length > 3 ? args[3] : CdsTraining.class.getName();
+    List<String> mainArgs = args.length > 4 ? List.of(args).subList(4, args.length) : List.of();
+
+    List<Mode> modes = new ArrayList<>();
+    modes.add(new Mode("no CDS", List.of("-Xshare:off")));
+    modes.add(new Mode("default CDS", List.of("-Xshare:auto")));
+    if (Files.isRegularFile(archive)) {
+      modes.add(new Mode("AppCDS", List.of("-XX:SharedArchiveFile=" + archive)));
+    } else {
+      System.err.println("No archive at " + archive + "; run the cdsArchive task first");
+    }
+
+    // One untimed launch per mode warms the page cache for the jar and archives
+    for (Mode mode : modes) {
+      timeToFirstOutput(mode, jar, mainClass, mainArgs);
+    }
+
+    System.out.printf("%-12s %10s %10s %10s%n", "mode", "min ms", "median ms", "mean ms");
+    double baseline = 0;
+    for (Mode mode : modes) {
+      long[] nanos = new long[runs];
+      for (int i = 0; i < runs; i++) {
+        nanos[i] = timeToFirstOutput(mode, jar, mainClass, mainArgs);
+      }
+      Arrays.sort(nanos);
+      double median = nanos[runs / 2] / 1e6;
+      if (baseline == 0) {
+        baseline = median;
+      }
+      System.out.printf(
+          "%-12s %10.1f %10.1f %10.1f  (%.2fx)%n",
+          mode.name(),
+          nanos[0] / 1e6,
+          median,
+          Arrays.stream(nanos).average().orElse(0) / 1e6,
+          baseline / median);
+    }
+  }
+
+  /**
+   * Launches the main class in a new JVM and waits for it to exit.
+   *
+   * @param mode      The JVM configuration.
+   * @param jar       The jar to run.
+   * @param mainClass The class to run.
+   * @param mainArgs  The arguments passed to the main class.
+   * @return The nanoseconds from launch until the first byte of standard output.
+   * @throws IOException If the process fails to start, prints nothing or exits abnormally.
+   */
+  private static long timeToFirstOutput(
+      Mode mode, Path jar, String mainClass, List<String> mainArgs)
+      throws IOException, InterruptedException {
+    List<String> command = new ArrayList<>();
+    command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    command.addAll(mode.jvmArgs());
+    command.add("-cp");
+    command.add(jar.toString());
+    command.add(mainClass);
+    command.addAll(mainArgs);
+
+    long start = System.nanoTime();
+    Process process =
+        new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+    long firstOutput;
+    try (InputStream out = process.getInputStream()) {
+      if (out.read() < 0) {
+        throw new IOException(mode.name() + " run printed nothing");
+      }
+      firstOutput = System.nanoTime() - start;
+      out.transferTo(OutputStream.nullOutputStream());
+    }
+    int exit = process.waitFor();
+    if (exit != 0) {
+      throw new IOException(mode.name() + " run exited with " + exit);
+    }
+    return firstOutput;
+  }
+}
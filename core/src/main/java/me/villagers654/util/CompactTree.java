@@ -0,0 +1,395 @@
+package me.villagers654.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * A binary tree stored as parallel primitive arrays instead of one object per node. Node {@code i}
+ * keeps its value in {@code info[i]} and its children as indices into the same arrays, with {@link
+ * #NONE} marking a missing child. The root, when present, is always node {@code 0}.
+ *
+ * <p>{@link #setLeft} and {@link #setRight} only accept links that keep the structure a tree: every
+ * node has at most one parent and the root has none, so traversals never revisit a node.
+ *
+ * <p>Traversals reuse internal scratch buffers, so a tree must not be traversed from several
+ * threads at once.
+ */
+public final class CompactTree {
+  /** Index used for a missing child. */
+  public static final int NONE = -1;
+
+  private int[] info;
+  private int[] left;
+  private int[] right;
+  private int[] parentOf;
+  private int size;
+
+  // Scratch buffers shared by the traversals, grown on demand and never shrunk
+  private int[] stack = new int[0];
+  private int[] depths = new int[0];
+  private int[] path = new int[0];
+
+  /** Receives root-to-leaf paths; {@code values} is only valid for the duration of the call. */
+  @FunctionalInterface
+  public interface PathVisitor {
+    void visit(int[] values, int length);
+  }
+
+  public CompactTree() {
+    this(16);
+  }
+
+  public CompactTree(int capacity) {
+    capacity = Math.max(capacity, 1);
+    info = new int[capacity];
+    left = new int[capacity];
+    right = new int[capacity];
+    parentOf = new int[capacity];
+  }
+
+  /**
+   * Appends a detached node and returns its index. The first node added becomes the root.
+   *
+   * @param value The value stored in the node.
+   * @return The index of the new node.
+   */
+  public int add(int value) {
+    if (size == info.length) {
+      int capacity = info.length << 1;
+      info = Arrays.copyOf(info, capacity);
+      left = Arrays.copyOf(left, capacity);
+      right = Arrays.copyOf(right, capacity);
+      parentOf = Arrays.copyOf(parentOf, capacity);
+    }
+    info[size] = value;
+    left[size] = NONE;
+    right[size] = NONE;
+    parentOf[size] = NONE;
+    return size++;
+  }
+
+  /**
+   * Sets or clears the left child of a node. A replaced child becomes detached.
+   *
+   * @param parent The node to link from.
+   * @param child  A detached node other than the root, or {@link #NONE} to clear the link.
+   * @throws IndexOutOfBoundsException If either index is not a node of this tree.
+   * @throws IllegalArgumentException  If the link would give a node two parents or form a cycle.
+   */
+  public void setLeft(int parent, int child) {
+    setChild(parent, child, true);
+  }
+
+  /**
+   * Sets or clears the right child of a node. A replaced child becomes detached.
+   *
+   * @param parent The node to link from.
+   * @param child  A detached node other than the root, or {@link #NONE} to clear the link.
+   * @throws IndexOutOfBoundsException If either index is not a node of this tree.
+   * @throws IllegalArgumentException  If the link would give a node two parents or form a cycle.
+   */
+  public void setRight(int parent, int child) {
+    setChild(parent, child, false);
+  }
+
+  private void setChild(int parent, int child, boolean leftSide) {
+    Objects.checkIndex(parent, size);
+    int previous = leftSide ? left[parent] : right[parent];
+    if (child == previous) {
+      return;
+    }
+    if (child != NONE) {
+      checkDetached(parent, child);
+    }
+    if (previous != NONE) {
+      parentOf[previous] = NONE;
+    }
+    link(parent, child, leftSide);
+  }
+
+  private void checkDetached(int parent, int child) {
+    Objects.checkIndex(child, size);
+    if (child == 0) {
+      throw new IllegalArgumentException("The root cannot be a child");
+    }
+    if (parentOf[child] != NONE) {
+      throw new IllegalArgumentException(
+          "Node " + child + " already has parent " + parentOf[child]);
+    }
+    // The child tops its own subtree, so the link is a cycle only if the parent lies inside it
+    for (int node = parent; node != NONE; node = parentOf[node]) {
+      if (node == child) {
+        throw new IllegalArgumentException(
+            "Linking " + parent + " to " + child + " would form a cycle");
+      }
+    }
+  }
+
+  /** Links a child without validation; the builders only ever link fresh nodes. */
+  private void link(int parent, int child, boolean leftSide) {
+    if (leftSide) {
+      left[parent] = child;
+    } else {
+      right[parent] = child;
+    }
+    if (child != NONE) {
+      parentOf[child] = parent;
+    }
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * @return The index of the root, or {@link #NONE} if the tree is empty.
+   */
+  public int root() {
+    return size == 0 ? NONE : 0;
+  }
+
+  public int info(int node) {
+    return info[node];
+  }
+
+  public int left(int node) {
+    return left[node];
+  }
+
+  public int right(int node) {
+    return right[node];
+  }
+
+  public boolean isLeaf(int node) {
+    return left[node] == NONE && right[node] == NONE;
+  }
+
+  /**
+   * Copies a linked tree into array form. Nodes are numbered in preorder.
+   *
+   * @param root The root of the linked tree, possibly null.
+   * @return The equivalent compact tree.
+   */
+  public static CompactTree fromTreeNode(TreeNode root) {
+    CompactTree tree = new CompactTree();
+    if (root == null) {
+      return tree;
+    }
+
+    // Each frame holds a node and the compact index of its parent; the sign of the parent slot
+    // tells whether the node hangs off the left (positive) or right (negative) side
+    TreeNode[] nodes = new TreeNode[16];
+    int[] parents = new int[16];
+    int top = 0;
+    nodes[top] = root;
+    parents[top++] = 0;
+
+    while (top > 0) {
+      TreeNode node = nodes[--top];
+      int parent = parents[top];
+      nodes[top] = null;
+
+      int index = tree.add(node.info);
+      if (parent > 0) {
+        tree.link(parent - 1, index, true);
+      } else if (parent < 0) {
+        tree.link(-parent - 1, index, false);
+      }
+
+      if (top + 2 > nodes.length) {
+        nodes = Arrays.copyOf(nodes, nodes.length << 1);
+        parents = Arrays.copyOf(parents, parents.length << 1);
+      }
+      // Push right first so the left subtree is numbered first
+      if (node.right != null) {
+        nodes[top] = node.right;
+        parents[top++] = -(index + 1);
+      }
+      if (node.left != null) {
+        nodes[top] = node.left;
+        parents[top++] = index + 1;
+      }
+    }
+    return tree;
+  }
+
+  /**
+   * Builds a compact tree from the same preorder format accepted by {@link
+   * TreeNodeUtils#buildTreeFromString(String)}: space separated values with {@code x} for null.
+   *
+   * @param input The preorder encoding.
+   * @return The decoded tree.
+   */
+  public static CompactTree fromPreorder(String input) {
+    CompactTree tree = new CompactTree(Math.max(input.length() / 2, 1));
+    // Pending child slots: the parent index and which side, encoded as in fromTreeNode
+    int[] slots = new int[16];
+    int top = 0;
+    boolean first = true;
+    int pos = 0;
+    int length = input.length();
+
+    while (pos < length) {
+      while (pos < length && input.charAt(pos) == ' ') {
+        pos++;
+      }
+      if (pos >= length) {
+        break;
+      }
+      int end = pos;
+      while (end < length && input.charAt(end) != ' ') {
+        end++;
+      }
+
+      int slot;
+      if (first) {
+        slot = 0;
+        first = false;
+      } else if (top == 0) {
+        break; // Trailing tokens past a complete tree are ignored, like buildTree
+      } else {
+        slot = slots[--top];
+      }
+
+      if (!(end - pos == 1 && input.charAt(pos) == 'x')) {
+        int index = tree.add(Integer.parseInt(input, pos, end, 10));
+        if (slot > 0) {
+          tree.link(slot - 1, index, true);
+        } else if (slot < 0) {
+          tree.link(-slot - 1, index, false);
+        }
+        if (top + 2 > slots.length) {
+          slots = Arrays.copyOf(slots, slots.length << 1);
+        }
+        slots[top++] = -(index + 1);
+        slots[top++] = index + 1;
+      } else if (slot == 0) {
+        break; // Empty tree
+      }
+      pos = end;
+    }
+    return tree;
+  }
+
+  /**
+   * Rebuilds the linked representation of this tree.
+   *
+   * @return The root node, or null if the tree is empty.
+   */
+  public TreeNode toTreeNode() {
+    if (size == 0) {
+      return null;
+    }
+    TreeNode[] nodes = new TreeNode[size];
+    for (int i = 0; i < size; i++) {
+      nodes[i] = new TreeNode(info[i]);
+    }
+    for (int i = 0; i < size; i++) {
+      if (left[i] != NONE) {
+        nodes[i].left = nodes[left[i]];
+      }
+      if (right[i] != NONE) {
+        nodes[i].right = nodes[right[i]];
+      }
+    }
+    return nodes[0];
+  }
+
+  /**
+   * Visits every node index in preorder.
+   *
+   * @param visitor Called with each node index.
+   */
+  public void dfs(IntConsumer visitor) {
+    if (size == 0) {
+      return;
+    }
+    int[] stack = scratchStack();
+    int top = 0;
+    stack[top++] = 0;
+    while (top > 0) {
+      int node = stack[--top];
+      visitor.accept(node);
+      if (right[node] != NONE) {
+        stack[top++] = right[node];
+      }
+      if (left[node] != NONE) {
+        stack[top++] = left[node];
+      }
+    }
+  }
+
+  /**
+   * Visits every node index in level order.
+   *
+   * @param visitor Called with each node index.
+   */
+  public void bfs(IntConsumer visitor) {
+    if (size == 0) {
+      return;
+    }
+    int[] queue = scratchStack();
+    int head = 0;
+    int tail = 0;
+    queue[tail++] = 0;
+    while (head < tail) {
+      int node = queue[head++];
+      visitor.accept(node);
+      if (left[node] != NONE) {
+        queue[tail++] = left[node];
+      }
+      if (right[node] != NONE) {
+        queue[tail++] = right[node];
+      }
+    }
+  }
+
+  /**
+   * Visits the values along every root-to-leaf path, left to right. The same buffer is passed to
+   * every call, so visitors that keep a path must copy it.
+   *
+   * @param visitor Called once per leaf.
+   */
+  public void forEachPath(PathVisitor visitor) {
+    if (size == 0) {
+      return;
+    }
+    int[] stack = scratchStack();
+    if (depths.length < size) {
+      depths = new int[size];
+      path = new int[size];
+    }
+    int top = 0;
+    stack[top] = 0;
+    depths[top++] = 0;
+    while (top > 0) {
+      int node = stack[--top];
+      int depth = depths[top];
+      path[depth] = info[node];
+      if (isLeaf(node)) {
+        visitor.visit(path, depth + 1);
+        continue;
+      }
+      if (right[node] != NONE) {
+        stack[top] = right[node];
+        depths[top++] = depth + 1;
+      }
+      if (left[node] != NONE) {
+        stack[top] = left[node];
+        depths[top++] = depth + 1;
+      }
+    }
+  }
+
+  private int[] scratchStack() {
+    if (stack.length < size) {
+      stack = new int[size];
+    }
+    return stack;
+  }
+}
@@ -0,0 +1,84 @@
+package me.villagers654.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class TreeNodeUtils {
+  // Construct a binary tree from preorder input
+  public static TreeNode buildTree(String[] nodes, int[] index) {
+    if (index[0] >= nodes.length || nodes[index[0]].equals("x")) {
+      index[0]++;
+      return null;
+    }
+
+    TreeNode node = new TreeNode(Integer.parseInt(nodes[index[0]++]));
+    node.left = buildTree(nodes, index);
+    node.right = buildTree(nodes, index);
+    return node;
+  }
+
+  public static TreeNode buildTreeFromString(String input) {
+    String[] nodes = input.split(" ");
+    int[] index = {0};
+    return buildTree(nodes, index);
+  }
+
+  // Generate all root-to-leaf paths
+  public static List<String> binaryTreePaths(TreeNode root) {
+    List<String> paths = new ArrayList<>();
+    forEachPath(root, path -> paths.add(path.toString()));
+    return paths;
+  }
+
+  /**
+   * Streams every root-to-leaf path, left to right, formatted as {@code 1->2->3}. A single builder
+   * is reused and truncated on backtrack, so the sequence handed to the consumer is only valid
+   * during the call and must be copied if kept.
+   *
+   * @param root The root of the tree, possibly null.
+   * @param consumer Receives each path.
+   */
+  public static void forEachPath(TreeNode root, Consumer<? super CharSequence> consumer) {
+    if (root == null) {
+      return;
+    }
+
+    StringBuilder path = new StringBuilder();
+    // Each frame holds a node and the builder length at which its value starts
+    TreeNode[] nodes = new TreeNode[16];
+    int[] starts = new int[16];
+    int top = 0;
+    nodes[top] = root;
+    starts[top++] = 0;
+
+    while (top > 0) {
+      TreeNode node = nodes[--top];
+      nodes[top] = null;
+      path.setLength(starts[top]);
+      path.append(node.info);
+
+      if (node.left == null && node.right == null) {
+        consumer.accept(path);
+        continue;
+      }
+
+      path.append("->");
+      int start = path.length();
+      if (top + 2 > nodes.length) {
+        nodes = Arrays.copyOf(nodes, nodes.length << 1);
+        starts = Arrays.copyOf(starts, starts.length << 1);
+      }
+      // Push right first so the left subtree is emitted first
+      if (node.right != null) {
+        nodes[top] = node.right;
+        starts[top++] = start;
+      }
+      if (node.left != null) {
+        nodes[top] = node.left;
+        starts[top++] = start;
+      }
+    }
+  }
+}
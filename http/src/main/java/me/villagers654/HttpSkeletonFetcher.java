@@ -0,0 +1,63 @@
+package me.villagers654;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+/**
+ * Loads problem pages over plain HTTP instead of through the browser. The {@code newapt} pages are
+ * public and static, so there is nothing to render; a request per page is enough, and many can be
+ * in flight at once. Requests still wait on the per-host rate limit.
+ */
+public class HttpSkeletonFetcher {
+  private static final Duration TIMEOUT = Duration.ofSeconds(20); // 20 seconds timeout
+
+  private final HttpClient client;
+  private final CrawlConfig config;
+  private final HostRateLimiter rateLimiter;
+
+  public HttpSkeletonFetcher(CrawlConfig config, HostRateLimiter rateLimiter) {
+    this.config = config;
+    this.rateLimiter = rateLimiter;
+    this.client =
+        HttpClient.newBuilder()
+            .connectTimeout(TIMEOUT)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+  }
+
+  /**
+   * Loads an APT's problem page and extracts its class skeleton.
+   *
+   * @param pageName The APT name as used on the problem page.
+   * @return The raw skeleton, or an empty string if the page has none.
+   * @throws IOException          If the page cannot be loaded.
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  @SuppressWarnings("try")
+  public String fetchSkeleton(String pageName) throws IOException, InterruptedException {
+    String url = config.getProblemUrl(pageName);
+    rateLimiter.acquire(url);
+
+    HttpResponse<String> response;
+    try (Trace.Span ignored = Trace.span("http-fetch")) {
+      response =
+          client.send(
+              HttpRequest.newBuilder(URI.create(url)).timeout(TIMEOUT).GET().build(),
+              HttpResponse.BodyHandlers.ofString());
+    }
+    if (response.statusCode() != 200) {
+      throw new IOException("HTTP " + response.statusCode() + " for " + url);
+    }
+
+    Document doc = Jsoup.parse(response.body(), url);
+    return APTCrawler.extractSkeleton(doc);
+  }
+}
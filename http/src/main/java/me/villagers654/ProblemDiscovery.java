@@ -0,0 +1,139 @@
+package me.villagers654;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Prefetches every problem listed on the submission page. Each problem page is loaded on its own
+ * virtual thread, and its skeleton is formatted, checked for a method signature and stored through
+ * the {@link OutputManager}, so a later crawl of that APT can skip the problem page entirely.
+ *
+ * <p>An index of every discovered APT and its method signature is written to {@code
+ * skeletons.properties} in the output root.
+ *
+ * <p>Usage without a browser: {@code ProblemDiscovery <problem>...}, naming problems as they are
+ * listed on the submission page.
+ */
+public class ProblemDiscovery {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ProblemDiscovery.class);
+
+  public static final String INDEX_FILE = "skeletons.properties";
+
+  private static final Pattern CLASS_NAME = Pattern.compile("\\bclass\\s+(\\w+)");
+
+  private final HttpSkeletonFetcher fetcher;
+  private final OutputManager output;
+
+  public ProblemDiscovery(HttpSkeletonFetcher fetcher, OutputManager output) {
+    this.fetcher = fetcher;
+    this.output = output;
+  }
+
+  public static void main(String[] args) throws IOException, InterruptedException {
+    AsyncConsole.install();
+    if (args.length < 1) {
+      System.err.println("Usage: ProblemDiscovery <problem>...");
+      System.exit(1);
+    }
+
+    HttpSkeletonFetcher fetcher =
+        new HttpSkeletonFetcher(
+            CrawlConfig.fromSystemProperties(), HostRateLimiter.fromSystemProperties());
+    long start = System.nanoTime();
+    List<Discovered> discovered =
+        new ProblemDiscovery(fetcher, OutputManager.fromSystemProperties())
+            .discover(List.of(args));
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    System.out.printf(
+        "Prefetched %d of %d problems in %.2f s%n", discovered.size(), args.length, seconds);
+  }
+
+  /**
+   * A prefetched APT.
+   *
+   * @param apt             The names the APT goes by.
+   * @param methodSignature The method signature found in its skeleton, or null if there is none.
+   */
+  public record Discovered(AptAliases.Apt apt, String methodSignature) {}
+
+  /**
+   * Fetches, formats and stores the skeletons of the given problems concurrently.
+   *
+   * @param problemNames The values of the problem radio buttons on the submission page.
+   * @return The APTs that were stored; problems whose page could not be loaded are left out.
+   * @throws IOException          If the index cannot be written.
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  public List<Discovered> discover(List<String> problemNames)
+      throws IOException, InterruptedException {
+    List<Future<Discovered>> futures = new ArrayList<>();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (String problemName : problemNames) {
+        futures.add(executor.submit(() -> prefetch(problemName)));
+      }
+    }
+
+    List<Discovered> discovered = new ArrayList<>();
+    for (int i = 0; i < futures.size(); i++) {
+      try {
+        discovered.add(futures.get(i).get());
+      } catch (ExecutionException e) {
+        LOGGER.error("Failed to prefetch {}: {}", problemNames.get(i), e.getCause().getMessage());
+      }
+    }
+
+    writeIndex(discovered);
+    LOGGER.info("Prefetched {} of {} problems.", discovered.size(), problemNames.size());
+    return discovered;
+  }
+
+  private Discovered prefetch(String problemName) throws IOException, InterruptedException {
+    Trace.setCurrentApt(problemName);
+    AptAliases.Apt alias = AptAliases.forProblem(problemName);
+    String skeleton = fetcher.fetchSkeleton(alias != null ? alias.pageName() : problemName);
+    if (skeleton.isEmpty()) {
+      throw new IOException("No skeleton on the problem page");
+    }
+
+    AptAliases.Apt apt = alias != null ? alias : named(problemName, skeleton);
+    String formattedCode = APTCrawler.formatJavaCode(skeleton);
+    String methodSignature = APTCrawler.findFirstMethodSignature(formattedCode);
+
+    output.writeSkeleton(apt, skeleton);
+    output.writeSolution(apt, formattedCode);
+    return new Discovered(apt, methodSignature);
+  }
+
+  /**
+   * Names an APT after the class in its skeleton, since the submission page only lists it in lower
+   * case.
+   */
+  private static AptAliases.Apt named(String problemName, String skeleton) {
+    Matcher matcher = CLASS_NAME.matcher(skeleton);
+    return AptAliases.resolve(matcher.find() ? matcher.group(1) : problemName);
+  }
+
+  private void writeIndex(List<Discovered> discovered) throws IOException {
+    Properties index = new Properties();
+    for (Discovered entry : discovered) {
+      index.setProperty(
+          entry.apt().name(), entry.methodSignature() != null ? entry.methodSignature() : "");
+    }
+    StringWriter writer = new StringWriter();
+    index.store(writer, "Prefetched APT skeletons and their method signatures");
+    OutputManager.writeAtomically(output.getRoot().resolve(INDEX_FILE), writer.toString());
+  }
+
+}
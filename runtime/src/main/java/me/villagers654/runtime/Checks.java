@@ -0,0 +1,250 @@
+package me.villagers654.runtime;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The {@code check} overloads a GeneratedTest class compares results with. Each one walks the
+ * result once, allocates nothing when it matches, and on a mismatch prints the first differing
+ * index or tree path before returning false:
+ *
+ * <ul>
+ *   <li>primitives - {@code ==}
+ *   <li>primitive arrays - {@link Arrays#mismatch}
+ *   <li>nested and object arrays - element by element, down to the first differing leaf
+ *   <li>{@code List<T>} - element by element with {@code Objects.equals}
+ *   <li>{@link ListNode} - a walk down both lists
+ *   <li>{@link TreeNode} - a level-order walk of both trees over queues kept between calls
+ *   <li>anything else - {@link Objects#deepEquals}
+ * </ul>
+ */
+public final class Checks {
+  // Level-order queues shared by every tree comparison, grown as needed
+  private static TreeNode[] gotQueue = new TreeNode[64];
+  private static TreeNode[] expectedQueue = new TreeNode[64];
+  private static int[] parents = new int[64];
+
+  private Checks() {}
+
+  public static boolean check(int index, int got, int expected) {
+    return got == expected || report(index, "result", expected, got);
+  }
+
+  public static boolean check(int index, long got, long expected) {
+    return got == expected || report(index, "result", expected, got);
+  }
+
+  public static boolean check(int index, double got, double expected) {
+    return got == expected || report(index, "result", expected, got);
+  }
+
+  public static boolean check(int index, float got, float expected) {
+    return got == expected || report(index, "result", expected, got);
+  }
+
+  public static boolean check(int index, char got, char expected) {
+    return got == expected || report(index, "result", expected, got);
+  }
+
+  public static boolean check(int index, boolean got, boolean expected) {
+    return got == expected || report(index, "result", expected, got);
+  }
+
+  public static boolean check(int index, int[] got, int[] expected) {
+    return checkArray(index, got, expected);
+  }
+
+  public static boolean check(int index, long[] got, long[] expected) {
+    return checkArray(index, got, expected);
+  }
+
+  public static boolean check(int index, double[] got, double[] expected) {
+    return checkArray(index, got, expected);
+  }
+
+  public static boolean check(int index, char[] got, char[] expected) {
+    return checkArray(index, got, expected);
+  }
+
+  public static boolean check(int index, boolean[] got, boolean[] expected) {
+    return checkArray(index, got, expected);
+  }
+
+  /** Object and nested arrays, e.g. {@code String[]} or {@code int[][]}. */
+  public static boolean check(int index, Object[] got, Object[] expected) {
+    return checkArray(index, got, expected);
+  }
+
+  public static boolean check(int index, List<?> got, List<?> expected) {
+    if (got == null || expected == null) {
+      return got == expected || report(index, "result", expected, got);
+    }
+    int shared = Math.min(got.size(), expected.size());
+    for (int i = 0; i < shared; i++) {
+      if (!Objects.equals(got.get(i), expected.get(i))) {
+        return report(index, "[" + i + "]", expected.get(i), got.get(i));
+      }
+    }
+    if (got.size() != expected.size()) {
+      return report(
+          index,
+          "[" + shared + "]",
+          shared < expected.size() ? expected.get(shared) : "end",
+          shared < got.size() ? got.get(shared) : "end");
+    }
+    return true;
+  }
+
+  public static boolean check(int index, ListNode got, ListNode expected) {
+    int position = 0;
+    while (got != null && expected != null) {
+      if (got.info != expected.info) {
+        return report(index, "[" + position + "]", expected.info, got.info);
+      }
+      got = got.next;
+      expected = expected.next;
+      position++;
+    }
+    if (got != expected) {
+      return report(
+          index,
+          "[" + position + "]",
+          expected == null ? "end" : expected.info,
+          got == null ? "end" : got.info);
+    }
+    return true;
+  }
+
+  public static synchronized boolean check(int index, TreeNode got, TreeNode expected) {
+    int head = 0;
+    int tail = 1;
+    gotQueue[0] = got;
+    expectedQueue[0] = expected;
+    parents[0] = -1;
+    boolean match = true;
+    while (head < tail) {
+      TreeNode g = gotQueue[head];
+      TreeNode e = expectedQueue[head];
+      if (g == null || e == null ? g != e : g.info != e.info) {
+        match =
+            report(index, treePath(head), e == null ? "null" : e.info, g == null ? "null" : g.info);
+        break;
+      }
+      if (e != null) {
+        if (tail + 2 > gotQueue.length) {
+          gotQueue = Arrays.copyOf(gotQueue, gotQueue.length * 2);
+          expectedQueue = Arrays.copyOf(expectedQueue, expectedQueue.length * 2);
+          parents = Arrays.copyOf(parents, parents.length * 2);
+        }
+        gotQueue[tail] = g.left;
+        expectedQueue[tail] = e.left;
+        parents[tail++] = head * 2;
+        gotQueue[tail] = g.right;
+        expectedQueue[tail] = e.right;
+        parents[tail++] = head * 2 + 1;
+      }
+      head++;
+    }
+    Arrays.fill(gotQueue, 0, tail, null);
+    Arrays.fill(expectedQueue, 0, tail, null);
+    return match;
+  }
+
+  private static String treePath(int slot) {
+    StringBuilder path = new StringBuilder();
+    while (parents[slot] >= 0) {
+      path.insert(0, (parents[slot] & 1) == 0 ? ".left" : ".right");
+      slot = parents[slot] / 2;
+    }
+    return path.insert(0, "root").toString();
+  }
+
+  /** Any other result type, compared with {@link Objects#deepEquals}. */
+  public static boolean check(int index, Object got, Object expected) {
+    return Objects.deepEquals(got, expected)
+        || report(index, "result", display(expected), display(got));
+  }
+
+  /** Compares two arrays of the same type, reporting the path to the first differing leaf. */
+  private static boolean checkArray(int index, Object got, Object expected) {
+    if (Objects.deepEquals(got, expected)) {
+      return true;
+    }
+    StringBuilder where = new StringBuilder();
+    while (got != null && expected != null) {
+      int at = mismatch(got, expected);
+      int gotLength = Array.getLength(got);
+      int expectedLength = Array.getLength(expected);
+      where.append('[').append(at).append(']');
+      if (at >= gotLength || at >= expectedLength) {
+        return report(
+            index,
+            where.toString(),
+            at < expectedLength ? display(Array.get(expected, at)) : "end",
+            at < gotLength ? display(Array.get(got, at)) : "end");
+      }
+      Object g = Array.get(got, at);
+      Object e = Array.get(expected, at);
+      if (g == null || e == null || !g.getClass().isArray() || g.getClass() != e.getClass()) {
+        return report(index, where.toString(), display(e), display(g));
+      }
+      got = g;
+      expected = e;
+    }
+    return report(
+        index, where.isEmpty() ? "result" : where.toString(), display(expected), display(got));
+  }
+
+  /** The first index where two arrays of the same type differ, which must exist. */
+  private static int mismatch(Object got, Object expected) {
+    if (got instanceof int[] g && expected instanceof int[] e) {
+      return Arrays.mismatch(g, e);
+    } else if (got instanceof long[] g && expected instanceof long[] e) {
+      return Arrays.mismatch(g, e);
+    } else if (got instanceof double[] g && expected instanceof double[] e) {
+      return Arrays.mismatch(g, e);
+    } else if (got instanceof char[] g && expected instanceof char[] e) {
+      return Arrays.mismatch(g, e);
+    } else if (got instanceof boolean[] g && expected instanceof boolean[] e) {
+      return Arrays.mismatch(g, e);
+    } else if (got instanceof Object[] g && expected instanceof Object[] e) {
+      int shared = Math.min(g.length, e.length);
+      for (int i = 0; i < shared; i++) {
+        if (!Objects.deepEquals(g[i], e[i])) {
+          return i;
+        }
+      }
+      return shared;
+    }
+    // Arrays of different component types: the first element already differs
+    return 0;
+  }
+
+  private static Object display(Object value) {
+    if (value instanceof Object[] array) {
+      return Arrays.deepToString(array);
+    } else if (value != null && value.getClass().isArray()) {
+      String wrapped = Arrays.deepToString(new Object[] {value});
+      return wrapped.substring(1, wrapped.length() - 1);
+    }
+    return value;
+  }
+
+  /**
+   * Prints where a result first differs from the expected value.
+   *
+   * @param index    The test case number.
+   * @param where    The index or tree path of the difference, or {@code result}.
+   * @param expected The expected value there.
+   * @param got      The value the solution returned there.
+   * @return Always false, so a check can end with {@code return report(...)}.
+   */
+  public static boolean report(int index, String where, Object expected, Object got) {
+    System.out.println(
+        "Case " + index + ": first difference at " + where + ": expected " + expected
+            + ", got " + got);
+    return false;
+  }
+}
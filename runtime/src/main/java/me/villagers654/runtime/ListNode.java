@@ -0,0 +1,26 @@
+package me.villagers654.runtime;
+
+/**
+ * A singly linked list node with the fields and constructors the APT problems use. Equality stays
+ * identity, since solutions often key maps and sets by node; compare lists by value with {@link
+ * Nodes#equals(ListNode, ListNode)}.
+ */
+public class ListNode {
+  public int info;
+  public ListNode next;
+
+  public ListNode(int x) {
+    info = x;
+  }
+
+  public ListNode(int x, ListNode node) {
+    info = x;
+    next = node;
+  }
+
+  /** Returns the list from this node on, as {@link Nodes#serialize(ListNode)} writes it. */
+  @Override
+  public String toString() {
+    return Nodes.serialize(this);
+  }
+}
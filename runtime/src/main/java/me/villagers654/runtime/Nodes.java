@@ -0,0 +1,274 @@
+package me.villagers654.runtime;
+
+import java.util.Arrays;
+
+/**
+ * Parsing, serialization and structural comparison for {@link TreeNode} and {@link ListNode}, in
+ * the formats the APT grader prints them:
+ *
+ * <ul>
+ *   <li>trees in level order inside braces, {@code x} or {@code null} for a missing child, e.g.
+ *       {@code {5 3 x 1}}; {@code {}} is the empty tree
+ *   <li>lists inside brackets, comma separated, e.g. {@code [1, 2, 3]}; {@code []} is empty
+ * </ul>
+ *
+ * <p>Parsing scans the text once without splitting it, and every walk is iterative, so long lists
+ * and degenerate trees do not overflow the stack.
+ */
+public final class Nodes {
+
+  private Nodes() {}
+
+  /**
+   * Builds a tree from its level-order text.
+   *
+   * @param text The tree, e.g. {@code {5 3 x 1}}.
+   * @return The root, or null for an empty tree.
+   */
+  public static TreeNode parseTree(String text) {
+    int length = text.length();
+    // Pending child slots in level order: the node, and which side is filled next
+    TreeNode[] parents = new TreeNode[16];
+    int head = 0;
+    int tail = 0;
+    boolean leftSide = true;
+    TreeNode root = null;
+    int pos = 0;
+
+    while (true) {
+      while (pos < length && isSeparator(text.charAt(pos))) {
+        pos++;
+      }
+      if (pos >= length) {
+        return root;
+      }
+      int end = pos;
+      while (end < length && !isSeparator(text.charAt(end))) {
+        end++;
+      }
+
+      TreeNode node = isNull(text, pos, end) ? null : new TreeNode(parseInt(text, pos, end));
+      if (root == null && head == tail) {
+        if (node == null) {
+          return null;
+        }
+        root = node;
+      } else if (head == tail) {
+        return root; // Trailing tokens past a complete tree are ignored
+      } else if (leftSide) {
+        parents[head].left = node;
+        leftSide = false;
+      } else {
+        parents[head++].right = node;
+        leftSide = true;
+      }
+
+      if (node != null) {
+        if (tail == parents.length) {
+          // Compact the consumed head before growing
+          System.arraycopy(parents, head, parents, 0, tail - head);
+          Arrays.fill(parents, tail - head, tail, null);
+          tail -= head;
+          head = 0;
+          if (tail == parents.length) {
+            parents = Arrays.copyOf(parents, parents.length << 1);
+          }
+        }
+        parents[tail++] = node;
+      }
+      pos = end;
+    }
+  }
+
+  /**
+   * Writes a tree in level order, without the trailing missing children.
+   *
+   * @param root The root, or null.
+   * @return The tree's text, e.g. {@code {5 3 x 1}}.
+   */
+  public static String serialize(TreeNode root) {
+    if (root == null) {
+      return "{}";
+    }
+    StringBuilder out = new StringBuilder().append('{');
+    TreeNode[] queue = new TreeNode[16];
+    int head = 0;
+    int tail = 1;
+    queue[0] = root;
+    // Length of the output up to its last value, to drop trailing x tokens
+    int written = 1;
+    while (head < tail) {
+      TreeNode node = queue[head++];
+      if (head > 1) {
+        out.append(' ');
+      }
+      if (node == null) {
+        out.append('x');
+        continue;
+      }
+      out.append(node.info);
+      written = out.length();
+      if (tail + 2 > queue.length) {
+        queue = Arrays.copyOf(queue, queue.length << 1);
+      }
+      queue[tail++] = node.left;
+      queue[tail++] = node.right;
+    }
+    out.setLength(written);
+    return out.append('}').toString();
+  }
+
+  /**
+   * Builds a list from its bracketed text.
+   *
+   * @param text The list, e.g. {@code [1, 2, 3]}.
+   * @return The head, or null for an empty list.
+   */
+  public static ListNode parseList(String text) {
+    int length = text.length();
+    ListNode head = null;
+    ListNode last = null;
+    int pos = 0;
+    while (true) {
+      while (pos < length && isSeparator(text.charAt(pos))) {
+        pos++;
+      }
+      if (pos >= length) {
+        return head;
+      }
+      int end = pos;
+      while (end < length && !isSeparator(text.charAt(end))) {
+        end++;
+      }
+      ListNode node = new ListNode(parseInt(text, pos, end));
+      if (last == null) {
+        head = node;
+      } else {
+        last.next = node;
+      }
+      last = node;
+      pos = end;
+    }
+  }
+
+  /**
+   * Writes a list in brackets.
+   *
+   * @param head The head, or null.
+   * @return The list's text, e.g. {@code [1, 2, 3]}.
+   */
+  public static String serialize(ListNode head) {
+    StringBuilder out = new StringBuilder().append('[');
+    for (ListNode node = head; node != null; node = node.next) {
+      if (node != head) {
+        out.append(", ");
+      }
+      out.append(node.info);
+    }
+    return out.append(']').toString();
+  }
+
+  /**
+   * Compares two trees by shape and values.
+   *
+   * @param a The first root, or null.
+   * @param b The second root, or null.
+   * @return True if both trees have the same shape and values.
+   */
+  public static boolean equals(TreeNode a, TreeNode b) {
+    TreeNode[] pending = new TreeNode[32];
+    int top = 0;
+    pending[top++] = a;
+    pending[top++] = b;
+    while (top > 0) {
+      TreeNode y = pending[--top];
+      TreeNode x = pending[--top];
+      if (x == y) {
+        continue;
+      }
+      if (x == null || y == null || x.info != y.info) {
+        return false;
+      }
+      if (top + 4 > pending.length) {
+        pending = Arrays.copyOf(pending, pending.length << 1);
+      }
+      pending[top++] = x.right;
+      pending[top++] = y.right;
+      pending[top++] = x.left;
+      pending[top++] = y.left;
+    }
+    return true;
+  }
+
+  /**
+   * Hashes a tree consistently with {@link #equals(TreeNode, TreeNode)}.
+   *
+   * @param root The root, or null.
+   * @return The hash of the tree's preorder values and missing children.
+   */
+  public static int hash(TreeNode root) {
+    TreeNode[] pending = new TreeNode[16];
+    int top = 0;
+    pending[top++] = root;
+    int hash = 1;
+    while (top > 0) {
+      TreeNode node = pending[--top];
+      if (node == null) {
+        hash = 31 * hash;
+        continue;
+      }
+      hash = 31 * hash + node.info + 1;
+      if (top + 2 > pending.length) {
+        pending = Arrays.copyOf(pending, pending.length << 1);
+      }
+      pending[top++] = node.right;
+      pending[top++] = node.left;
+    }
+    return hash;
+  }
+
+  /**
+   * Compares two lists by length and values.
+   *
+   * @param a The first head, or null.
+   * @param b The second head, or null.
+   * @return True if both lists hold the same values in the same order.
+   */
+  public static boolean equals(ListNode a, ListNode b) {
+    while (a != null && b != null) {
+      if (a.info != b.info) {
+        return false;
+      }
+      a = a.next;
+      b = b.next;
+    }
+    return a == b;
+  }
+
+  /**
+   * Hashes a list consistently with {@link #equals(ListNode, ListNode)}.
+   *
+   * @param head The head, or null.
+   * @return The hash of the list's values, as {@link java.util.List#hashCode()} computes it.
+   */
+  public static int hash(ListNode head) {
+    int hash = 1;
+    for (ListNode node = head; node != null; node = node.next) {
+      hash = 31 * hash + node.info;
+    }
+    return hash;
+  }
+
+  private static boolean isSeparator(char c) {
+    return c == ' ' || c == ',' || c == '{' || c == '}' || c == '[' || c == ']' || c == '\n';
+  }
+
+  private static boolean isNull(String text, int start, int end) {
+    return (end - start == 1 && text.charAt(start) == 'x')
+        || (end - start == 4 && text.startsWith("null", start));
+  }
+
+  private static int parseInt(String text, int start, int end) {
+    return Integer.parseInt(text, start, end, 10);
+  }
+}
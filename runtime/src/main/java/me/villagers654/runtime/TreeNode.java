@@ -0,0 +1,28 @@
+package me.villagers654.runtime;
+
+/**
+ * A binary tree node with the fields and constructors the APT problems use. Equality stays
+ * identity, since solutions often key maps and sets by node; compare trees by value with {@link
+ * Nodes#equals(TreeNode, TreeNode)}.
+ */
+public class TreeNode {
+  public int info;
+  public TreeNode left;
+  public TreeNode right;
+
+  public TreeNode(int x) {
+    info = x;
+  }
+
+  public TreeNode(int x, TreeNode lNode, TreeNode rNode) {
+    info = x;
+    left = lNode;
+    right = rNode;
+  }
+
+  /** Returns the tree in level order, as {@link Nodes#serialize(TreeNode)} writes it. */
+  @Override
+  public String toString() {
+    return Nodes.serialize(this);
+  }
+}
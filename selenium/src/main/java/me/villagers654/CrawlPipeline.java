@@ -0,0 +1,306 @@
+package me.villagers654;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jsoup.nodes.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Crawls a batch of APTs as a staged pipeline: fetch skeleton, format, write, submit and await the
+ * results, generate tests. Every stage runs on its own executor with a bounded queue, so while one
+ * APT waits on the grader the next one is already being fetched and formatted. The two browser
+ * stages own one browser each and run on a single thread, since a WebDriver is not thread safe.
+ *
+ * <p>When a stage's queue is full, the stage feeding it waits, which keeps a slow grader from
+ * piling up fetched pages. The queue length is read from {@code aptcrawler.pipelineQueue} (default
+ * 4).
+ */
+public class CrawlPipeline implements AutoCloseable {
+  private static final Logger LOGGER = LoggerFactory.getLogger(CrawlPipeline.class);
+
+  private final Crawler fetcher;
+  private final Crawler submitter;
+  private final PolitenessScheduler scheduler;
+  private final OutputManager output;
+  private final ResultCorpus corpus;
+  private final ResultHistory history;
+
+  private final ThreadPoolExecutor fetchStage;
+  private final ThreadPoolExecutor formatStage;
+  private final ThreadPoolExecutor writeStage;
+  private final ThreadPoolExecutor submitStage;
+  private final ThreadPoolExecutor generateStage;
+  private final List<ThreadPoolExecutor> stages = new ArrayList<>();
+
+  /**
+   * @param fetcher   The crawler problem pages are loaded with.
+   * @param submitter The logged-in crawler solutions are submitted with. May be the fetcher when
+   *                  only one APT is crawled.
+   * @param scheduler The rate limits and retry policy.
+   * @param output    Where solutions and generated tests are written.
+   * @param corpus    The corpus runs are recorded to, or null.
+   * @param history   The history every results table is appended to, or null.
+   */
+  public CrawlPipeline(
+      Crawler fetcher,
+      Crawler submitter,
+      PolitenessScheduler scheduler,
+      OutputManager output,
+      ResultCorpus corpus,
+      ResultHistory history) {
+    this.fetcher = fetcher;
+    this.submitter = submitter;
+    this.scheduler = scheduler;
+    this.output = output;
+    this.corpus = corpus;
+    this.history = history;
+
+    int capacity = Integer.getInteger("aptcrawler.pipelineQueue", 4);
+    int cpus = Runtime.getRuntime().availableProcessors();
+    this.fetchStage = stage("fetch", 1, capacity);
+    this.formatStage = stage("format", cpus, capacity);
+    this.writeStage = stage("write", 1, capacity);
+    this.submitStage = stage("submit", 1, capacity);
+    this.generateStage = stage("generate", cpus, capacity);
+  }
+
+  /**
+   * Queues an APT. Blocks while the fetch stage's queue is full.
+   *
+   * @param apt The APT.
+   * @return A future completed with the generated test file once the APT has passed every stage.
+   */
+  public CompletableFuture<Path> crawl(AptAliases.Apt apt) {
+    return CompletableFuture.supplyAsync(() -> fetch(apt), fetchStage)
+        .thenApplyAsync(this::format, formatStage)
+        .thenApplyAsync(this::write, writeStage)
+        .thenApplyAsync(this::submit, submitStage)
+        .thenApplyAsync(this::generate, generateStage);
+  }
+
+  /**
+   * Crawls a batch of APTs and waits for all of them.
+   *
+   * @param apts The APTs.
+   * @return The number of APTs that failed.
+   */
+  public int crawlAll(List<AptAliases.Apt> apts) {
+    List<CompletableFuture<Path>> runs = new ArrayList<>();
+    for (AptAliases.Apt apt : apts) {
+      runs.add(
+          crawl(apt)
+              .whenComplete(
+                  (file, error) -> {
+                    if (error != null) {
+                      Throwable cause = error.getCause() != null ? error.getCause() : error;
+                      LOGGER.error("{} failed: {}", apt.name(), cause.getMessage());
+                    }
+                  }));
+    }
+
+    int failures = 0;
+    for (CompletableFuture<Path> run : runs) {
+      if (run.handle((file, error) -> error != null).join()) {
+        failures++;
+      }
+    }
+    return failures;
+  }
+
+  private Fetched fetch(AptAliases.Apt apt) {
+    Trace.setCurrentApt(apt.name());
+    // A skeleton stored by discovery saves the page load, unless the page is to be recorded
+    String prefetched = corpus == null ? call(() -> output.readSkeleton(apt)) : null;
+    if (prefetched != null) {
+      LOGGER.info("Using the prefetched skeleton of {}", apt.name());
+      return new Fetched(apt, prefetched, null);
+    }
+    return call(
+        () ->
+            scheduler.retry(
+                "fetch " + apt.name(),
+                () -> {
+                  String skeleton = fetcher.fetchSkeleton(apt.pageName());
+                  String problemHtml = corpus != null ? fetcher.getDriver().getPageSource() : null;
+                  return new Fetched(apt, skeleton, problemHtml);
+                }));
+  }
+
+  private Formatted format(Fetched fetched) {
+    AptAliases.Apt apt = fetched.apt();
+    Trace.setCurrentApt(apt.name());
+    // Ensure the code is formatted before submission
+    String formattedCode = APTCrawler.formatJavaCode(fetched.skeleton());
+    String methodSignature = APTCrawler.findFirstMethodSignature(formattedCode);
+
+    if (methodSignature == null) {
+      LOGGER.error("Method signature not found in the formatted code.");
+      // Optionally, save the formatted code for manual inspection
+      try {
+        Path inspection = output.write(apt, apt.name() + "_formatted.java", formattedCode);
+        LOGGER.error("Formatted code saved to {} for manual inspection.", inspection);
+      } catch (IOException e) {
+        LOGGER.error("Failed to save formatted code: {}", e.getMessage());
+      }
+      throw new IllegalStateException("No method signature for " + apt.name());
+    }
+    return new Formatted(apt, formattedCode, methodSignature, fetched.problemHtml());
+  }
+
+  private Written write(Formatted formatted) {
+    Trace.setCurrentApt(formatted.apt().name());
+    Path solution = call(() -> output.writeSolution(formatted.apt(), formatted.code()));
+    LOGGER.info("Formatted code written to {}", solution);
+    return new Written(formatted, solution);
+  }
+
+  private Graded submit(Written written) {
+    AptAliases.Apt apt = written.formatted().apt();
+    Trace.setCurrentApt(apt.name());
+    call(
+        () -> {
+          scheduler.acquireSubmission();
+          return null;
+        });
+    try {
+      // Only the steps before the form post are retried; a slow grader is waited for again rather
+      // than sent the same solution to grade again
+      call(
+          () ->
+              scheduler.retry(
+                  "submit " + apt.name(),
+                  () -> {
+                    submitter.openSubmissionPage();
+                    submitter.upload(
+                        apt.problemName(), written.solution().toAbsolutePath().toString());
+                    return null;
+                  }));
+      call(
+          () ->
+              scheduler.retry(
+                  "results of " + apt.name(),
+                  () -> {
+                    submitter.awaitResults();
+                    return null;
+                  }));
+      Document results = submitter.fetchResults();
+      String resultsHtml = corpus != null ? submitter.fetchResultsHtml() : null;
+      return new Graded(written.formatted(), results, resultsHtml);
+    } finally {
+      scheduler.releaseSubmission();
+    }
+  }
+
+  private Path generate(Graded graded) {
+    Formatted formatted = graded.formatted();
+    AptAliases.Apt apt = formatted.apt();
+    Trace.setCurrentApt(apt.name());
+    if (corpus != null) {
+      try {
+        corpus.record(
+            apt.name(), formatted.methodSignature(), formatted.problemHtml(), graded.resultsHtml());
+      } catch (IOException e) {
+        LOGGER.warn("Failed to record run: {}", e.getMessage());
+      }
+    }
+
+    if (history != null) {
+      try {
+        history.append(
+            apt.name(),
+            ResultHistory.hash(formatted.code()),
+            ResultHistory.parseRows(graded.results()));
+      } catch (IOException e) {
+        LOGGER.warn("Failed to append to the result history: {}", e.getMessage());
+      }
+    }
+
+    Path testFile = output.generatedTestFile(apt);
+    APTCrawler.doWork(graded.results(), formatted.methodSignature(), testFile);
+    return testFile;
+  }
+
+  /**
+   * Stops the stage threads once the queued work is done. If interrupted while waiting, the stages
+   * are stopped at once and the thread's interrupt status is restored.
+   */
+  @Override
+  public void close() {
+    for (ThreadPoolExecutor stage : stages) {
+      stage.shutdown();
+    }
+    try {
+      for (ThreadPoolExecutor stage : stages) {
+        stage.awaitTermination(1, TimeUnit.MINUTES);
+      }
+    } catch (InterruptedException e) {
+      for (ThreadPoolExecutor stage : stages) {
+        stage.shutdownNow();
+      }
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Creates a stage's executor. A full queue makes the submitting thread wait for room rather than
+   * rejecting the task.
+   */
+  private ThreadPoolExecutor stage(String name, int threads, int capacity) {
+    AtomicInteger count = new AtomicInteger();
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(capacity),
+            task -> {
+              Thread thread = new Thread(task, "pipeline-" + name + "-" + count.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            (task, pool) -> {
+              if (pool.isShutdown()) {
+                throw new RejectedExecutionException("Pipeline is closed");
+              }
+              try {
+                pool.getQueue().put(task);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException(e);
+              }
+            });
+    stages.add(executor);
+    return executor;
+  }
+
+  /** Runs a step that throws checked exceptions inside a stage, where only unchecked ones pass. */
+  private static <T> T call(Callable<T> step) {
+    try {
+      return step.call();
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private record Fetched(AptAliases.Apt apt, String skeleton, String problemHtml) {}
+
+  private record Formatted(
+      AptAliases.Apt apt, String code, String methodSignature, String problemHtml) {}
+
+  private record Written(Formatted formatted, Path solution) {}
+
+  private record Graded(Formatted formatted, Document results, String resultsHtml) {}
+}
@@ -0,0 +1,359 @@
+package me.villagers654;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The browser side of a crawl: logging in, fetching a problem's skeleton, submitting a solution
+ * and reading back the results. Each step throws {@link TimeoutException} if the page it waits for
+ * does not show up in time. Where the browser allows it, results are read from the grader's
+ * response through a {@link ResultCapture} rather than from the rendered page.
+ */
+public class Crawler {
+  private static final Logger LOGGER = LoggerFactory.getLogger(Crawler.class);
+
+  private static final long LOGIN_TIMEOUT = 20000; // 20 seconds timeout
+  private static final long PROBLEM_LIST_TIMEOUT = 20000; // 20 seconds timeout
+  private static final long RESULTS_TIMEOUT = 30000; // 30 seconds timeout
+
+  private static final By PROBLEM_RADIO_LOCATOR =
+      By.xpath("//input[@type='radio'][@name='problem']");
+
+  private final WebDriver driver;
+  private final NavigationProfile profile;
+  private final CrawlConfig config;
+  private final PolitenessScheduler scheduler;
+  private ResultCapture capture;
+  private WebElement submitButton;
+  private String resultsHtml;
+
+  public Crawler(WebDriver driver, NavigationProfile profile, CrawlConfig config) {
+    this(driver, profile, config, PolitenessScheduler.unlimited());
+  }
+
+  public Crawler(
+      WebDriver driver,
+      NavigationProfile profile,
+      CrawlConfig config,
+      PolitenessScheduler scheduler) {
+    this.driver = driver;
+    this.profile = profile;
+    this.config = config;
+    this.scheduler = scheduler;
+  }
+
+  public WebDriver getDriver() {
+    return driver;
+  }
+
+  public CrawlConfig getConfig() {
+    return config;
+  }
+
+  /**
+   * Logs in to the grader and waits for the post-login page.
+   *
+   * @param username The NetID.
+   * @param password The password.
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  public void login(String username, char[] password) throws InterruptedException {
+    navigate(config.getGraderUrl());
+    LOGGER.info("Navigated to login page.");
+
+    WebElement usernameField = driver.findElement(By.name("j_username"));
+    WebElement passwordField = driver.findElement(By.name("j_password"));
+    usernameField.sendKeys(username);
+    passwordField.sendKeys(new String(password));
+    LOGGER.info("Entered credentials.");
+
+    WebElement loginButton = driver.findElement(By.name("Submit"));
+    loginButton.click();
+    LOGGER.info("Clicked login button.");
+
+    // Wait for login to complete by checking the presence of a unique element
+    By uniqueElementLocator =
+        By.xpath("//h1[contains(text(), '" + config.getLoginTitle() + "')]");
+    waitUntil(
+        "wait-login",
+        () -> {
+          try {
+            return driver.findElement(uniqueElementLocator).isDisplayed();
+          } catch (NoSuchElementException e) {
+            return false; // Element not found yet, keep waiting
+          }
+        },
+        LOGIN_TIMEOUT,
+        "Login might have failed or unique element not found within the timeout.");
+    LOGGER.info("Login successful. Detected unique post-login element.");
+  }
+
+  /**
+   * Loads an APT's problem page and extracts its class skeleton.
+   *
+   * @param aptName The APT name as used on the problem page.
+   * @return The raw skeleton, or an empty string if the page has none.
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  public String fetchSkeleton(String aptName) throws InterruptedException {
+    navigate(config.getProblemUrl(aptName));
+    LOGGER.info("Navigated to APT page: {}", aptName.toLowerCase() + ".html");
+
+    return PageExtractor.extractSkeleton(driver);
+  }
+
+  /**
+   * Loads the submission page and waits for the problem list.
+   *
+   * @return The radio buttons of every listed problem.
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  public List<WebElement> openSubmissionPage() throws InterruptedException {
+    navigate(config.getGraderUrl());
+    LOGGER.info("Navigated back to APT submission page.");
+
+    waitUntil(
+        "wait-problem-list",
+        () -> !driver.findElements(PROBLEM_RADIO_LOCATOR).isEmpty(),
+        PROBLEM_LIST_TIMEOUT,
+        "Radio buttons not found within the timeout.");
+    LOGGER.info("Located problem radio buttons.");
+
+    return driver.findElements(PROBLEM_RADIO_LOCATOR);
+  }
+
+  /**
+   * Loads the submission page and lists the problems on it.
+   *
+   * @return The value of every problem's radio button, in page order.
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  public List<String> listProblems() throws InterruptedException {
+    List<String> problems = new ArrayList<>();
+    for (WebElement radioButton : openSubmissionPage()) {
+      String value = radioButton.getAttribute("value");
+      if (value != null && !value.isBlank()) {
+        problems.add(value);
+      }
+    }
+    LOGGER.info("Found {} problems on the submission page.", problems.size());
+    return problems;
+  }
+
+  /**
+   * Uploads a solution for a problem on the already open submission page and waits until the
+   * grader has replied.
+   *
+   * @param problem  The problem name as listed on the submission page.
+   * @param filePath The absolute path of the solution file.
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  public void submit(String problem, String filePath) throws InterruptedException {
+    upload(problem, filePath);
+    awaitResults();
+  }
+
+  /**
+   * Uploads a solution for a problem on the already open submission page without waiting for the
+   * grader. Once this returns the solution has been posted, so a slow reply should be waited for
+   * again with {@link #awaitResults()} rather than by uploading it again.
+   *
+   * @param problem  The problem name as listed on the submission page.
+   * @param filePath The absolute path of the solution file.
+   * @throws InterruptedException If interrupted while waiting for the rate limit.
+   */
+  @SuppressWarnings("try")
+  public void upload(String problem, String filePath) throws InterruptedException {
+    ResultCapture capture = resultCapture();
+    resultsHtml = null;
+    submitButton = null;
+    capture.arm();
+    scheduler.acquire(config.getGraderUrl());
+    try (Trace.Span ignored = Trace.span("upload")) {
+      submitButton = clickSubmit(problem, filePath);
+    }
+  }
+
+  /**
+   * Waits until the grader has replied to the last upload. May be called again after a timeout to
+   * keep waiting for the same submission.
+   *
+   * @throws InterruptedException If interrupted while waiting.
+   * @throws TimeoutException     If the reply does not arrive in time.
+   */
+  @SuppressWarnings("try")
+  public void awaitResults() throws InterruptedException {
+    ResultCapture capture = resultCapture();
+    // Once the capture gave up on a response, a retry goes on polling the page
+    if (capture.isActive() && capture.isPending()) {
+      try (Trace.Span ignored = Trace.span("wait-results")) {
+        resultsHtml = capture.await(RESULTS_TIMEOUT);
+      }
+      if (resultsHtml != null) {
+        LOGGER.info("Submission completed. Captured the grader's response.");
+        return;
+      }
+    }
+
+    WebElement button = submitButton;
+    if (button == null) {
+      throw new IllegalStateException("No submission to wait for");
+    }
+    waitUntil(
+        "wait-results",
+        () -> {
+          try {
+            return !button.isDisplayed();
+          } catch (StaleElementReferenceException e) {
+            LOGGER.debug("Submit button is no longer attached to the DOM.");
+            return true;
+          }
+        },
+        RESULTS_TIMEOUT,
+        "Submission results not loaded within the timeout.");
+    LOGGER.info("Submission completed. Waiting for results.");
+  }
+
+  /**
+   * Selects a problem, attaches the solution file and clicks its submit button.
+   *
+   * @param problem  The problem name as listed on the submission page.
+   * @param filePath The absolute path of the solution file.
+   * @return The clicked submit button.
+   */
+  private WebElement clickSubmit(String problem, String filePath) {
+    WebElement radioButton = null;
+    for (WebElement rb : driver.findElements(PROBLEM_RADIO_LOCATOR)) {
+      if (Objects.requireNonNull(rb.getAttribute("value"))
+          .equalsIgnoreCase(problem.toLowerCase())) {
+        radioButton = rb;
+        break;
+      }
+    }
+
+    if (radioButton == null) {
+      throw new NoSuchElementException("Radio button for " + problem + " not found");
+    }
+
+    ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", radioButton);
+    radioButton.click();
+    LOGGER.info("Selected the radio button for {}", problem);
+
+    WebElement fileInput =
+        driver.findElement(
+            By.xpath(
+                "//input[@type='radio'][@name='problem'][@value='"
+                    + problem.toLowerCase()
+                    + "']/following::input[@type='file'][1]"));
+
+    ((JavascriptExecutor) driver).executeScript("arguments[0].scrollIntoView(true);", fileInput);
+
+    fileInput.sendKeys(filePath);
+    LOGGER.info("Uploaded file: {}", filePath);
+
+    WebElement submitButton =
+        driver.findElement(
+            By.xpath(
+                "//input[@type='radio'][@name='problem'][@value='"
+                    + problem.toLowerCase()
+                    + "']/following::input[@type='submit'][@value='test/run'][1]"));
+
+    try {
+      submitButton.click();
+      LOGGER.info("Clicked the submit button.");
+    } catch (TimeoutException e) {
+      // The form was posted but the reply page is still loading; awaitResults waits for it
+      LOGGER.info("Clicked the submit button; the results page is still loading.");
+    }
+    return submitButton;
+  }
+
+  /**
+   * Reads the results table of the page shown after a submission.
+   *
+   * @return A document holding the result rows.
+   */
+  @SuppressWarnings("try")
+  public Document fetchResults() {
+    if (resultsHtml != null) {
+      try (Trace.Span ignored = Trace.span("extract-results")) {
+        return Jsoup.parse(resultsHtml, config.getGraderUrl());
+      }
+    }
+    return PageExtractor.extractResultRows(driver);
+  }
+
+  /**
+   * Returns the full HTML of the results shown after a submission.
+   *
+   * @return The grader's response if it was captured, otherwise the serialized page.
+   */
+  public String fetchResultsHtml() {
+    return resultsHtml != null ? resultsHtml : driver.getPageSource();
+  }
+
+  /**
+   * Returns the capture for this crawler's submissions, attaching it on first use so that drivers
+   * which only fetch problem pages never open a DevTools session.
+   *
+   * @return The result capture.
+   */
+  private ResultCapture resultCapture() {
+    if (capture == null) {
+      capture = ResultCapture.attach(driver, config.getGraderUrl());
+    }
+    return capture;
+  }
+
+  /**
+   * Loads a page once its host's rate limit allows.
+   *
+   * @param url The URL to load.
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  private void navigate(String url) throws InterruptedException {
+    scheduler.acquire(url);
+    profile.navigate(driver, url);
+  }
+
+  /**
+   * Polls a condition until it holds.
+   *
+   * @param phase          The name of the wait in the trace.
+   * @param condition      The condition to check.
+   * @param timeout        How long to wait, in milliseconds.
+   * @param timeoutMessage The message of the exception thrown on timeout.
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  @SuppressWarnings("try")
+  private static void waitUntil(
+      String phase, BooleanSupplier condition, long timeout, String timeoutMessage)
+      throws InterruptedException {
+    try (Trace.Span ignored = Trace.span(phase)) {
+      long startTime = System.currentTimeMillis();
+
+      while (System.currentTimeMillis() - startTime < timeout) {
+        if (condition.getAsBoolean()) {
+          return;
+        }
+
+        Thread.sleep(500); // Check every 500ms
+      }
+    }
+
+    throw new TimeoutException(timeoutMessage);
+  }
+}
@@ -0,0 +1,195 @@
+package me.villagers654;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.*;
+import org.jsoup.nodes.Document;
+import org.openqa.selenium.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class Main {
+  private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
+
+  public static void main(String[] args) {
+    AsyncConsole.install();
+    WebDriver driver;
+    OSChecker.OS os = OSChecker.getOperatingSystem();
+    NavigationProfile profile = NavigationProfile.fromSystemProperties();
+
+    driver = getDriver(os, profile);
+
+    // With --discover every listed problem is prefetched instead of crawling the entered APTs
+    boolean discover = args.length > 0 && args[0].equals("--discover");
+    List<AptAliases.Apt> apts = new ArrayList<>();
+    if (!discover) {
+      String aptName =
+          JOptionPane.showInputDialog(null, "APT Name? (Case sensitive, commas for a batch)");
+
+      if (aptName == null || aptName.trim().isEmpty()) {
+        LOGGER.error("APT Name cannot be empty.");
+        driver.quit();
+        System.exit(1);
+      }
+
+      for (String name : aptName.split(",")) {
+        if (!name.isBlank()) {
+          apts.add(AptAliases.resolve(name.trim()));
+        }
+      }
+    }
+    OutputManager output = OutputManager.fromSystemProperties();
+    WebDriver fetchDriver = null;
+    boolean failed = false;
+
+    try {
+      JPanel panel = new JPanel(new BorderLayout(5, 5));
+
+      JPanel label = new JPanel(new GridLayout(0, 1, 2, 2));
+      label.add(new JLabel("NetID", SwingConstants.RIGHT));
+      label.add(new JLabel("Password", SwingConstants.RIGHT));
+      panel.add(label, BorderLayout.WEST);
+
+      JPanel controls = new JPanel(new GridLayout(0, 1, 2, 2));
+      JTextField username = new JTextField();
+      controls.add(username);
+      JPasswordField password = new JPasswordField();
+      controls.add(password);
+      panel.add(controls, BorderLayout.CENTER);
+
+      int result =
+          JOptionPane.showConfirmDialog(
+              null, panel, "Login", JOptionPane.OK_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE);
+      if (result != JOptionPane.OK_OPTION) {
+        LOGGER.error("Login canceled by user.");
+        driver.quit();
+        System.exit(1);
+      }
+
+      if (username.getText().trim().isEmpty() || password.getPassword().length == 0) {
+        LOGGER.error("Username or Password cannot be empty.");
+        driver.quit();
+        System.exit(1);
+      }
+
+      PolitenessScheduler scheduler = PolitenessScheduler.fromSystemProperties();
+      CrawlConfig config = CrawlConfig.fromSystemProperties();
+      Crawler crawler = new Crawler(driver, profile, config, scheduler);
+      scheduler.retry(
+          "login",
+          () -> {
+            crawler.login(username.getText(), password.getPassword());
+            return null;
+          });
+
+      if (discover) {
+        HttpSkeletonFetcher fetcher = new HttpSkeletonFetcher(config, scheduler.getRateLimiter());
+        new ProblemDiscovery(fetcher, output).discover(crawler.listProblems());
+        return;
+      }
+
+      // With a batch, problem pages are loaded in a second browser while the first one waits on
+      // the grader; the pages are public, so that browser needs no login
+      Crawler fetcher = crawler;
+      if (apts.size() > 1) {
+        fetchDriver = getDriver(os, profile);
+        fetcher = new Crawler(fetchDriver, profile, config, scheduler);
+      }
+      try (ResultHistory history = ResultHistory.fromSystemProperties();
+          CrawlPipeline pipeline =
+              new CrawlPipeline(
+                  fetcher,
+                  crawler,
+                  scheduler,
+                  output,
+                  ResultCorpus.fromSystemProperties(),
+                  history)) {
+        failed = pipeline.crawlAll(apts) > 0;
+      }
+    } catch (TimeoutException e) {
+      LOGGER.error("Giving up: {}", e.getRawMessage());
+      failed = true;
+    } catch (NoSuchElementException e) {
+      LOGGER.error("Error during Selenium operations: {}", e.getMessage());
+    } catch (Exception e) {
+      LOGGER.error("An unexpected error occurred: {}", e.getMessage(), e);
+    } finally {
+      driver.quit();
+      if (fetchDriver != null) {
+        fetchDriver.quit();
+      }
+      LOGGER.info("Browser closed.");
+    }
+
+    if (failed) {
+      System.exit(1);
+    }
+  }
+
+  /**
+   * Extracts the Java class code from the HTML page using Jsoup.
+   *
+   * @param driver The WebDriver instance.
+   * @return The raw Java class code as a string.
+   */
+  public static String extractClassFromHTML(WebDriver driver) {
+    return PageExtractor.extractSkeleton(driver);
+  }
+
+  /**
+   * Initializes and returns the appropriate WebDriver based on the operating system, using the
+   * navigation profile from the system properties.
+   *
+   * @param os The operating system.
+   * @return The initialized WebDriver.
+   */
+  public static WebDriver getDriver(OSChecker.OS os) {
+    return getDriver(os, NavigationProfile.fromSystemProperties());
+  }
+
+  /**
+   * Initializes and returns the appropriate WebDriver based on the operating system.
+   *
+   * @param os      The operating system.
+   * @param profile The page load strategy and asset blocking to apply.
+   * @return The initialized WebDriver.
+   */
+  @SuppressWarnings("try")
+  public static WebDriver getDriver(OSChecker.OS os, NavigationProfile profile) {
+    try (Trace.Span ignored = Trace.span("driver")) {
+      return createDriver(os, profile);
+    }
+  }
+
+  private static WebDriver createDriver(OSChecker.OS os, NavigationProfile profile) {
+    WebDriver driver;
+    try {
+      driver =
+          switch (os) {
+            case WINDOWS ->
+                WebDriverManager.edgedriver().capabilities(profile.edgeOptions()).create();
+            case MAC ->
+                WebDriverManager.safaridriver().capabilities(profile.safariOptions()).create();
+            case LINUX ->
+                WebDriverManager.firefoxdriver().capabilities(profile.firefoxOptions()).create();
+            default -> throw new WebDriverException("Unsupported operating system.");
+          };
+    } catch (WebDriverException e1) {
+      LOGGER.error("Primary WebDriver initialization failed: {}", e1.getMessage(), e1);
+      try {
+        LOGGER.info("Attempting fallback to ChromeDriver...");
+        driver = WebDriverManager.chromedriver().capabilities(profile.chromeOptions()).create();
+      } catch (WebDriverException e2) {
+        LOGGER.error("Fallback WebDriver initialization also failed: {}", e2.getMessage(), e2);
+        System.exit(1);
+        return null;
+      }
+    }
+    profile.attach(driver);
+    return driver;
+  }
+}
@@ -0,0 +1,205 @@
+package me.villagers654;
+
+import java.util.List;
+import java.util.Map;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.PageLoadStrategy;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.FirefoxProfile;
+import org.openqa.selenium.safari.SafariOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Browser settings that control how much of each page is loaded. The crawler only reads form
+ * fields, {@code <xmp>} text and result tables, so by default navigation returns once the DOM is
+ * ready and images, stylesheets and web fonts are never fetched.
+ *
+ * <p>Configured through system properties:
+ *
+ * <ul>
+ *   <li>{@code aptcrawler.pageLoadStrategy} - {@code normal}, {@code eager} (default) or {@code
+ *       none}
+ *   <li>{@code aptcrawler.blockAssets} - {@code true} (default) to block images, CSS and fonts
+ * </ul>
+ */
+public class NavigationProfile {
+  private static final Logger LOGGER = LoggerFactory.getLogger(NavigationProfile.class);
+  private static final long READY_TIMEOUT = 20000; // 20 seconds timeout
+
+  // URL patterns blocked through the DevTools protocol on Chromium based browsers
+  private static final List<String> BLOCKED_URLS =
+      List.of(
+          "*.png", "*.jpg", "*.jpeg", "*.gif", "*.svg", "*.ico", "*.webp", "*.css", "*.woff",
+          "*.woff2", "*.ttf", "*.otf", "*.eot");
+
+  private final PageLoadStrategy pageLoadStrategy;
+  private final boolean blockAssets;
+
+  public NavigationProfile(PageLoadStrategy pageLoadStrategy, boolean blockAssets) {
+    this.pageLoadStrategy = pageLoadStrategy;
+    this.blockAssets = blockAssets;
+  }
+
+  /**
+   * Reads the profile from the {@code aptcrawler.*} system properties.
+   *
+   * @return The configured profile.
+   */
+  public static NavigationProfile fromSystemProperties() {
+    String strategy = System.getProperty("aptcrawler.pageLoadStrategy", "eager");
+    boolean blockAssets =
+        Boolean.parseBoolean(System.getProperty("aptcrawler.blockAssets", "true"));
+    return new NavigationProfile(PageLoadStrategy.fromString(strategy), blockAssets);
+  }
+
+  public PageLoadStrategy getPageLoadStrategy() {
+    return pageLoadStrategy;
+  }
+
+  public boolean isBlockingAssets() {
+    return blockAssets;
+  }
+
+  public FirefoxOptions firefoxOptions() {
+    FirefoxOptions options = new FirefoxOptions();
+    options.setPageLoadStrategy(pageLoadStrategy);
+    if (blockAssets) {
+      FirefoxProfile profile = new FirefoxProfile();
+      profile.setPreference("permissions.default.image", 2);
+      profile.setPreference("permissions.default.stylesheet", 2);
+      profile.setPreference("browser.display.use_document_fonts", 0);
+      profile.setPreference("gfx.downloadable_fonts.enabled", false);
+      options.setProfile(profile);
+    }
+    return options;
+  }
+
+  public ChromeOptions chromeOptions() {
+    ChromeOptions options = new ChromeOptions();
+    options.setPageLoadStrategy(pageLoadStrategy);
+    if (blockAssets) {
+      options.addArguments("--blink-settings=imagesEnabled=false");
+      options.setExperimentalOption(
+          "prefs", Map.of("profile.managed_default_content_settings.images", 2));
+    }
+    return options;
+  }
+
+  public EdgeOptions edgeOptions() {
+    EdgeOptions options = new EdgeOptions();
+    options.setPageLoadStrategy(pageLoadStrategy);
+    if (blockAssets) {
+      options.addArguments("--blink-settings=imagesEnabled=false");
+      options.setExperimentalOption(
+          "prefs", Map.of("profile.managed_default_content_settings.images", 2));
+    }
+    return options;
+  }
+
+  public SafariOptions safariOptions() {
+    // Safari has no preferences for blocking content, only the load strategy applies
+    SafariOptions options = new SafariOptions();
+    options.setPageLoadStrategy(pageLoadStrategy);
+    return options;
+  }
+
+  /**
+   * Applies settings that can only be set on a running driver. On Chromium based browsers
+   * stylesheets and fonts are blocked at the network layer, since there is no preference for them.
+   *
+   * @param driver The freshly created driver.
+   */
+  public void attach(WebDriver driver) {
+    if (!blockAssets || !(driver instanceof ChromiumDriver chromium)) {
+      return;
+    }
+    try {
+      chromium.executeCdpCommand("Network.enable", Map.of());
+      chromium.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", BLOCKED_URLS));
+    } catch (WebDriverException e) {
+      LOGGER.warn("Could not block page assets: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Navigates to a URL and waits until the document has been parsed. With the {@code eager} and
+   * {@code normal} strategies the driver already does this; with {@code none} the wait is explicit.
+   *
+   * @param driver The WebDriver instance.
+   * @param url    The URL to load.
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  @SuppressWarnings("try")
+  public void navigate(WebDriver driver, String url) throws InterruptedException {
+    try (Trace.Span ignored = Trace.span("navigate")) {
+      if (pageLoadStrategy != PageLoadStrategy.NONE) {
+        driver.navigate().to(url);
+        return;
+      }
+      WebElement previous = documentRoot(driver);
+      driver.navigate().to(url);
+      waitUntilReady(driver, previous);
+    }
+  }
+
+  /**
+   * Returns the root element of the current document, to tell it apart from the next one.
+   *
+   * @param driver The WebDriver instance.
+   * @return The {@code <html>} element, or null if there is none.
+   */
+  private static WebElement documentRoot(WebDriver driver) {
+    try {
+      return driver.findElement(By.tagName("html"));
+    } catch (WebDriverException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Waits until the navigation has replaced the previous document and {@code document.readyState}
+   * of the new one is past {@code loading}, which is the point the eager strategy would return at.
+   * Without the first check, the previous page's {@code complete} state would be read right after
+   * the navigation starts.
+   *
+   * @param driver   The WebDriver instance.
+   * @param previous The root element of the document shown before navigating, or null.
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  public static void waitUntilReady(WebDriver driver, WebElement previous)
+      throws InterruptedException {
+    long startTime = System.currentTimeMillis();
+
+    while (System.currentTimeMillis() - startTime < READY_TIMEOUT) {
+      if (previous == null || isStale(previous)) {
+        Object state = ((JavascriptExecutor) driver).executeScript("return document.readyState;");
+        if ("interactive".equals(state) || "complete".equals(state)) {
+          return;
+        }
+      }
+
+      Thread.sleep(50); // Check every 50ms
+    }
+
+    throw new TimeoutException("Page did not become ready within the timeout.");
+  }
+
+  private static boolean isStale(WebElement element) {
+    try {
+      element.isEnabled();
+      return false;
+    } catch (StaleElementReferenceException e) {
+      return true;
+    }
+  }
+}
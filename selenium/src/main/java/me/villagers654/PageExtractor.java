@@ -0,0 +1,112 @@
+package me.villagers654;
+
+import java.util.List;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pulls only the fragments the crawler needs out of the browser. Each extraction runs a small
+ * script in the page so that just the relevant text crosses the WebDriver connection, and falls
+ * back to serializing and parsing the whole page if the script cannot run.
+ */
+public class PageExtractor {
+  private static final Logger LOGGER = LoggerFactory.getLogger(PageExtractor.class);
+
+  private static final String SKELETON_SCRIPT =
+      "var xmp = document.getElementsByTagName('xmp')[0];"
+          + "return xmp ? xmp.textContent : null;";
+
+  private static final String RESULT_ROWS_SCRIPT =
+      "return Array.from(document.querySelectorAll('table.border tr'), function (row) {"
+          + "  return row.outerHTML;"
+          + "});";
+
+  /**
+   * Extracts the Java class skeleton from the first {@code <xmp>} tag of the current page.
+   *
+   * @param driver The WebDriver instance.
+   * @return The raw Java class code, or an empty string if the page has no {@code <xmp>} tag.
+   */
+  @SuppressWarnings("try")
+  public static String extractSkeleton(WebDriver driver) {
+    try (Trace.Span ignored = Trace.span("extract-skeleton")) {
+      return extractSkeletonText(driver);
+    }
+  }
+
+  private static String extractSkeletonText(WebDriver driver) {
+    Object result;
+    try {
+      result = ((JavascriptExecutor) driver).executeScript(SKELETON_SCRIPT);
+    } catch (ClassCastException | WebDriverException e) {
+      LOGGER.warn("Script extraction failed, parsing full page: {}", e.getMessage());
+      return extractSkeleton(parsePageSource(driver));
+    }
+
+    if (result instanceof String text) {
+      LOGGER.info("Extracted class code from <xmp> tag.");
+      return text;
+    }
+    LOGGER.error("No <xmp> tags found in the HTML.");
+    return "";
+  }
+
+  /**
+   * Extracts the Java class skeleton from the first {@code <xmp>} tag of a parsed page.
+   *
+   * @param doc The parsed problem page.
+   * @return The raw Java class code, or an empty string if the page has no {@code <xmp>} tag.
+   */
+  public static String extractSkeleton(Document doc) {
+    return APTCrawler.extractSkeleton(doc);
+  }
+
+  /**
+   * Extracts the rows of the grader's results table. The returned document contains only a single
+   * {@code table.border} holding those rows, which is all {@link APTCrawler#doWork} reads.
+   *
+   * @param driver The WebDriver instance.
+   * @return A document containing the result rows.
+   */
+  @SuppressWarnings("try")
+  public static Document extractResultRows(WebDriver driver) {
+    try (Trace.Span ignored = Trace.span("extract-results")) {
+      return extractResultRowsDocument(driver);
+    }
+  }
+
+  private static Document extractResultRowsDocument(WebDriver driver) {
+    Object result;
+    try {
+      result = ((JavascriptExecutor) driver).executeScript(RESULT_ROWS_SCRIPT);
+    } catch (ClassCastException | WebDriverException e) {
+      LOGGER.warn("Script extraction failed, parsing full page: {}", e.getMessage());
+      return parsePageSource(driver);
+    }
+
+    if (!(result instanceof List<?> rows)) {
+      LOGGER.warn("Unexpected script result, parsing full page.");
+      return parsePageSource(driver);
+    }
+
+    StringBuilder table = new StringBuilder("<table class=\"border\">");
+    for (Object row : rows) {
+      table.append(row);
+    }
+    table.append("</table>");
+    LOGGER.info("Extracted {} result rows.", rows.size());
+    return Jsoup.parseBodyFragment(table.toString());
+  }
+
+  private static Document parsePageSource(WebDriver driver) {
+    String pageSource = driver.getPageSource();
+
+    assert pageSource != null;
+    return Jsoup.parse(pageSource);
+  }
+}
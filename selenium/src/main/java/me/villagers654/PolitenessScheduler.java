@@ -0,0 +1,141 @@
+package me.villagers654;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import org.openqa.selenium.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the crawler polite to the Duke servers. Every navigation waits on a {@link
+ * HostRateLimiter}, and at most a fixed number of submissions are graded at once. Steps that time
+ * out are retried after a jittered exponential backoff instead of aborting the run.
+ *
+ * <p>Submissions take a slot with {@link #acquireSubmission()}, so fetching carries on while the
+ * grader is busy with other solutions. Once a solution is posted it is never retried; only the
+ * wait for its results is, so a slow grader is not asked to grade the same solution again.
+ *
+ * <p>Configured through system properties:
+ *
+ * <ul>
+ *   <li>{@code aptcrawler.hostRate} and {@code aptcrawler.hostBurst} - see {@link HostRateLimiter}
+ *   <li>{@code aptcrawler.maxSubmissions} - submissions graded at once (default 1)
+ *   <li>{@code aptcrawler.maxRetries} - retries of a step that timed out (default 3)
+ *   <li>{@code aptcrawler.backoffMs} - the first retry's maximum delay (default 1000)
+ *   <li>{@code aptcrawler.maxBackoffMs} - the cap on the retry delay (default 30000)
+ * </ul>
+ */
+public class PolitenessScheduler {
+  private static final Logger LOGGER = LoggerFactory.getLogger(PolitenessScheduler.class);
+
+  private final HostRateLimiter rateLimiter;
+  private final int maxRetries;
+  private final long backoff;
+  private final long maxBackoff;
+  private final Semaphore submissions;
+
+  public PolitenessScheduler(
+      HostRateLimiter rateLimiter,
+      int maxSubmissions,
+      int maxRetries,
+      long backoff,
+      long maxBackoff) {
+    this.rateLimiter = rateLimiter;
+    this.maxRetries = maxRetries;
+    this.backoff = backoff;
+    this.maxBackoff = maxBackoff;
+    this.submissions = new Semaphore(maxSubmissions);
+  }
+
+  /**
+   * Reads the limits from the {@code aptcrawler.*} system properties.
+   *
+   * @return The configured scheduler.
+   */
+  public static PolitenessScheduler fromSystemProperties() {
+    return new PolitenessScheduler(
+        HostRateLimiter.fromSystemProperties(),
+        Integer.getInteger("aptcrawler.maxSubmissions", 1),
+        Integer.getInteger("aptcrawler.maxRetries", 3),
+        Long.getLong("aptcrawler.backoffMs", 1000),
+        Long.getLong("aptcrawler.maxBackoffMs", 30000));
+  }
+
+  /**
+   * @return A scheduler that never waits, for benchmarks against a local grader.
+   */
+  public static PolitenessScheduler unlimited() {
+    return new PolitenessScheduler(HostRateLimiter.unlimited(), Integer.MAX_VALUE, 0, 0, 0);
+  }
+
+  public HostRateLimiter getRateLimiter() {
+    return rateLimiter;
+  }
+
+  /**
+   * Waits until the URL's host may be contacted again.
+   *
+   * @param url The URL about to be loaded.
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  public void acquire(String url) throws InterruptedException {
+    rateLimiter.acquire(url);
+  }
+
+  /**
+   * Waits for a free submission slot. Every call must be paired with {@link #releaseSubmission()}.
+   *
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  @SuppressWarnings("try")
+  public void acquireSubmission() throws InterruptedException {
+    try (Trace.Span ignored = Trace.span("wait-submission-slot")) {
+      submissions.acquire();
+    }
+  }
+
+  /** Frees a submission slot taken with {@link #acquireSubmission()}. */
+  public void releaseSubmission() {
+    submissions.release();
+  }
+
+  /**
+   * Runs a step, retrying it after a jittered exponential backoff each time it times out.
+   *
+   * @param phase The step's name, for the log.
+   * @param step  The step.
+   * @return The step's result.
+   * @throws Exception The step's exception, or its last {@link TimeoutException} once the retries
+   *     are used up.
+   */
+  @SuppressWarnings("try")
+  public <T> T retry(String phase, Callable<T> step) throws Exception {
+    for (int attempt = 0; ; attempt++) {
+      try {
+        return step.call();
+      } catch (TimeoutException e) {
+        if (attempt >= maxRetries) {
+          throw e;
+        }
+        long delay = backoffDelay(attempt);
+        LOGGER.warn("{} timed out ({}), retrying in {} ms", phase, e.getRawMessage(), delay);
+        try (Trace.Span ignored = Trace.span("backoff")) {
+          Thread.sleep(delay);
+        }
+      }
+    }
+  }
+
+  /**
+   * Picks a delay uniformly between zero and the capped exponential bound, so retries from several
+   * workers do not line up.
+   *
+   * @param attempt The number of attempts that already failed, minus one.
+   * @return The delay in milliseconds.
+   */
+  private long backoffDelay(int attempt) {
+    long bound = Math.min(maxBackoff, backoff << Math.min(attempt, 30));
+    return bound <= 0 ? 0 : ThreadLocalRandom.current().nextLong(bound + 1);
+  }
+}
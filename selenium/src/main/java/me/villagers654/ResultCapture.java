@@ -0,0 +1,189 @@
+package me.villagers654;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the grader's reply to a submission straight off the browser's network layer. On Chromium
+ * based browsers the DevTools protocol reports the moment the response to the test/run form post
+ * has finished loading, and its body is then fetched as sent, so neither the page nor the DOM has
+ * to be polled or serialized. Other browsers expose no response bodies; there {@link #isActive()}
+ * is false and the crawler polls the page instead. Firefox's partial DevTools support never reports
+ * a finished load or serves a body, so only Chromium drivers are captured from.
+ *
+ * <p>Configured through the {@code aptcrawler.networkCapture} system property: {@code true}
+ * (default) to capture results from the network where the browser allows it.
+ */
+public class ResultCapture {
+  private static final Logger LOGGER = LoggerFactory.getLogger(ResultCapture.class);
+
+  private static final Event<Map<String, Object>> REQUEST_WILL_BE_SENT =
+      new Event<>("Network.requestWillBeSent", input -> input.read(Json.MAP_TYPE));
+  private static final Event<Map<String, Object>> LOADING_FINISHED =
+      new Event<>("Network.loadingFinished", input -> input.read(Json.MAP_TYPE));
+  private static final Event<Map<String, Object>> LOADING_FAILED =
+      new Event<>("Network.loadingFailed", input -> input.read(Json.MAP_TYPE));
+
+  private final DevTools devTools;
+  private final String graderHost;
+  private final AtomicReference<String> requestId = new AtomicReference<>();
+  private volatile CompletableFuture<String> finished;
+
+  private ResultCapture(DevTools devTools, String graderHost) {
+    this.devTools = devTools;
+    this.graderHost = graderHost;
+  }
+
+  /**
+   * Starts listening to a driver's network events if the browser and the {@code aptcrawler.*}
+   * system properties allow it.
+   *
+   * @param driver    The driver solutions are submitted with.
+   * @param graderUrl The URL of the grader the form posts to.
+   * @return The capture, inactive unless the driver is a Chromium one with DevTools.
+   */
+  public static ResultCapture attach(WebDriver driver, String graderUrl) {
+    String graderHost = URI.create(graderUrl).getHost();
+    boolean enabled =
+        Boolean.parseBoolean(System.getProperty("aptcrawler.networkCapture", "true"));
+    if (!enabled || !(driver instanceof ChromiumDriver chromium)) {
+      return new ResultCapture(null, graderHost);
+    }
+
+    try {
+      DevTools devTools = chromium.getDevTools();
+      devTools.createSessionIfThereIsNotOne();
+      devTools.send(new Command<Void>("Network.enable", Map.of()));
+      ResultCapture capture = new ResultCapture(devTools, graderHost);
+      devTools.addListener(REQUEST_WILL_BE_SENT, capture::onRequestWillBeSent);
+      devTools.addListener(LOADING_FINISHED, capture::onLoadingFinished);
+      devTools.addListener(LOADING_FAILED, capture::onLoadingFailed);
+      LOGGER.info("Capturing submission results from DevTools network events.");
+      return capture;
+    } catch (WebDriverException e) {
+      LOGGER.warn("Could not attach to DevTools, polling for results: {}", e.getMessage());
+      return new ResultCapture(null, graderHost);
+    }
+  }
+
+  public boolean isActive() {
+    return devTools != null;
+  }
+
+  /**
+   * @return True if a submission is armed and its response has not been read yet.
+   */
+  public boolean isPending() {
+    return finished != null;
+  }
+
+  /** Watches for the next form post to the grader. Call before clicking the submit button. */
+  public void arm() {
+    requestId.set(null);
+    finished = new CompletableFuture<>();
+  }
+
+  /**
+   * Waits for the response to the form post made since {@link #arm()} and reads its body. After a
+   * timeout the capture stays armed, so waiting again picks up a response that finished since.
+   *
+   * @param timeout How long to wait, in milliseconds.
+   * @return The HTML the grader replied with, or null if the browser would not hand over the body,
+   *     in which case the loaded page has to be read instead.
+   * @throws InterruptedException If interrupted while waiting.
+   * @throws TimeoutException     If the response does not finish loading in time.
+   */
+  public String await(long timeout) throws InterruptedException {
+    CompletableFuture<String> pending = finished;
+    if (pending == null) {
+      throw new IllegalStateException("No submission is being captured");
+    }
+
+    String id;
+    try {
+      id = pending.get(timeout, TimeUnit.MILLISECONDS);
+    } catch (java.util.concurrent.TimeoutException e) {
+      throw new TimeoutException("Submission results not loaded within the timeout.");
+    } catch (ExecutionException e) {
+      finished = null;
+      throw new WebDriverException("Submission request failed", e.getCause());
+    }
+    finished = null;
+
+    Map<String, Object> response;
+    try {
+      response =
+          devTools.send(
+              new Command<>(
+                  "Network.getResponseBody",
+                  Map.of("requestId", id),
+                  input -> input.<Map<String, Object>>read(Json.MAP_TYPE)));
+    } catch (WebDriverException e) {
+      LOGGER.warn("Could not read the captured response, polling the page: {}", e.getMessage());
+      return null;
+    }
+    String body = String.valueOf(response.get("body"));
+    if (Boolean.TRUE.equals(response.get("base64Encoded"))) {
+      body = new String(Base64.getDecoder().decode(body), StandardCharsets.UTF_8);
+    }
+    LOGGER.debug("Captured {} characters of submission results.", body.length());
+    return body;
+  }
+
+  // Events arrive on the DevTools connection's thread, so they only record ids and complete the
+  // future; the body is fetched by the thread waiting in await.
+
+  private void onRequestWillBeSent(Map<String, Object> params) {
+    CompletableFuture<String> pending = finished;
+    if (pending == null || pending.isDone()) {
+      return;
+    }
+    if (params.get("request") instanceof Map<?, ?> request
+        && "POST".equals(request.get("method"))
+        && "Document".equals(params.get("type"))
+        && graderHost.equalsIgnoreCase(hostOf(String.valueOf(request.get("url"))))) {
+      requestId.compareAndSet(null, String.valueOf(params.get("requestId")));
+    }
+  }
+
+  private void onLoadingFinished(Map<String, Object> params) {
+    CompletableFuture<String> pending = finished;
+    String id = requestId.get();
+    if (pending != null && id != null && id.equals(params.get("requestId"))) {
+      pending.complete(id);
+    }
+  }
+
+  private void onLoadingFailed(Map<String, Object> params) {
+    CompletableFuture<String> pending = finished;
+    String id = requestId.get();
+    if (pending != null && id != null && id.equals(params.get("requestId"))) {
+      pending.completeExceptionally(
+          new WebDriverException(String.valueOf(params.get("errorText"))));
+    }
+  }
+
+  private static String hostOf(String url) {
+    try {
+      return URI.create(url).getHost();
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,159 @@
+package me.villagers654.bench;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import me.villagers654.APTCrawler;
+import me.villagers654.AptAliases;
+import me.villagers654.AsyncConsole;
+import me.villagers654.CrawlPipeline;
+import me.villagers654.Crawler;
+import me.villagers654.Main;
+import me.villagers654.NavigationProfile;
+import me.villagers654.OSChecker;
+import me.villagers654.OutputManager;
+import me.villagers654.PolitenessScheduler;
+import me.villagers654.Trace;
+import org.jsoup.nodes.Document;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Drives the full crawl against a {@link FakeGraderServer} and reports throughput and per-phase
+ * latency, so changes to the crawler can be measured without the real grader.
+ *
+ * <p>Usage: {@code CrawlBenchmark [apts] [pageLatencyMs] [gradingLatencyMs] [failingCases]
+ * [inputLength] [sequential|pipelined]}. The navigation profile is taken from the usual {@code
+ * aptcrawler.*} system properties, so runs with and without asset blocking can be compared. The
+ * pipelined mode runs the batch through a {@link CrawlPipeline} with a second browser for problem
+ * pages, and reports how close it gets to the total grading latency.
+ */
+public class CrawlBenchmark {
+
+  public static void main(String[] args) throws Exception {
+    AsyncConsole.install();
+    int apts = intArg(args, 0, 10);
+    long pageLatency = intArg(args, 1, 50);
+    long gradingLatency = intArg(args, 2, 1000);
+    int failingCases = intArg(args, 3, 20);
+    int inputLength = intArg(args, 4, 1000);
+    boolean pipelined = args.length > 5 && args[5].equalsIgnoreCase("pipelined");
+
+    OutputManager output = new OutputManager(Files.createTempDirectory("aptcrawler-bench"));
+    PhaseTimer timer = new PhaseTimer();
+    NavigationProfile profile = NavigationProfile.fromSystemProperties();
+
+    try (FakeGraderServer server = new FakeGraderServer(0)) {
+      server.setPageLatency(pageLatency);
+      server.setGradingLatency(gradingLatency);
+
+      String input = syntheticInput(inputLength);
+      for (int i = 0; i < apts; i++) {
+        server.addProblem(
+            "BenchApt" + i,
+            syntheticSkeleton("BenchApt" + i),
+            FakeGraderServer.resultRows(failingCases, failingCases, input, "0"));
+      }
+
+      WebDriver driver =
+          timer.time("driver", () -> Main.getDriver(OSChecker.getOperatingSystem(), profile));
+      try {
+        Crawler crawler = new Crawler(driver, profile, server.getConfig());
+        timer.time("login", () -> crawler.login("bench", "bench".toCharArray()));
+
+        if (pipelined) {
+          runPipelined(crawler, profile, output, apts, gradingLatency);
+          return;
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < apts; i++) {
+          AptAliases.Apt apt = AptAliases.resolve("BenchApt" + i);
+          Trace.setCurrentApt(apt.name());
+          String skeleton = timer.time("fetch", () -> crawler.fetchSkeleton(apt.pageName()));
+          String formatted = timer.time("format", () -> APTCrawler.formatJavaCode(skeleton));
+          String signature =
+              timer.time("signature", () -> APTCrawler.findFirstMethodSignature(formatted));
+          Path file = timer.time("write", () -> output.writeSolution(apt, formatted));
+          timer.time("open", crawler::openSubmissionPage);
+          timer.time(
+              "submit", () -> crawler.submit(apt.problemName(), file.toAbsolutePath().toString()));
+          Document results = timer.time("results", crawler::fetchResults);
+          timer.time(
+              "generate",
+              () -> APTCrawler.doWork(results, signature, output.generatedTestFile(apt)));
+        }
+        double minutes = (System.nanoTime() - start) / 6e10;
+
+        System.out.println();
+        System.out.printf(
+            "Crawled %d APTs in %.1f s: %.1f APTs per minute%n", apts, minutes * 60, apts / minutes);
+        System.out.printf(
+            "Page load strategy %s, asset blocking %s, %d asset requests served%n",
+            profile.getPageLoadStrategy(), profile.isBlockingAssets(), server.getAssetRequests());
+        System.out.print(timer.summary());
+      } finally {
+        driver.quit();
+      }
+    }
+  }
+
+  private static void runPipelined(
+      Crawler submitter,
+      NavigationProfile profile,
+      OutputManager output,
+      int apts,
+      long gradingLatency)
+      throws Exception {
+    WebDriver fetchDriver = Main.getDriver(OSChecker.getOperatingSystem(), profile);
+    try {
+      PolitenessScheduler scheduler = PolitenessScheduler.unlimited();
+      Crawler fetcher = new Crawler(fetchDriver, profile, submitter.getConfig(), scheduler);
+      List<AptAliases.Apt> batch = new ArrayList<>();
+      for (int i = 0; i < apts; i++) {
+        batch.add(AptAliases.resolve("BenchApt" + i));
+      }
+
+      long start = System.nanoTime();
+      int failures;
+      try (CrawlPipeline pipeline =
+          new CrawlPipeline(fetcher, submitter, scheduler, output, null, null)) {
+        failures = pipeline.crawlAll(batch);
+      }
+      double seconds = (System.nanoTime() - start) / 1e9;
+
+      System.out.println();
+      System.out.printf(
+          "Crawled %d APTs (%d failed) in %.1f s: %.1f APTs per minute%n",
+          apts, failures, seconds, apts / seconds * 60);
+      System.out.printf(
+          "Total grading latency %.1f s, pipeline overhead %.1f s%n",
+          apts * gradingLatency / 1e3, seconds - apts * gradingLatency / 1e3);
+    } finally {
+      fetchDriver.quit();
+    }
+  }
+
+  private static int intArg(String[] args, int index, int defaultValue) {
+    return args.length > index ? Integer.parseInt(args[index]) : defaultValue;
+  }
+
+  private static String syntheticSkeleton(String className) {
+    return "public class "
+        + className
+        + " {\n"
+        + "    public int solve(int[] nums) {\n"
+        + "        // fill in code here\n"
+        + "    }\n"
+        + "}\n";
+  }
+
+  private static String syntheticInput(int length) {
+    StringJoiner joiner = new StringJoiner(", ", "[", "]");
+    for (int i = 0; i < length; i++) {
+      joiner.add(Integer.toString(i));
+    }
+    return joiner.toString();
+  }
+}
@@ -0,0 +1,307 @@
+package me.villagers654.bench;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import me.villagers654.CrawlConfig;
+
+/**
+ * A local stand-in for the APT grader and the problem pages, built on the JDK's HTTP server. It
+ * serves the login form, the problem list, {@code newapt/<name>.html} skeleton pages with a
+ * configurable amount of image, stylesheet and font weight, and a results table for every upload.
+ * Every response can be delayed to mimic network and grading latency.
+ */
+public class FakeGraderServer implements AutoCloseable {
+  private static final String SESSION_COOKIE = "JSESSIONID=fake-grader";
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final Map<String, Problem> problems = new ConcurrentHashMap<>();
+  private final AtomicLong assetRequests = new AtomicLong();
+  private final AtomicLong submissions = new AtomicLong();
+
+  private volatile long pageLatency;
+  private volatile long gradingLatency;
+  private volatile int assetCount = 8;
+  private volatile int assetBytes = 64 * 1024;
+
+  /** A problem served by the fake grader. */
+  public record Problem(String name, String skeleton, String resultRows) {}
+
+  /**
+   * Starts a server on the loopback interface.
+   *
+   * @param port The port to bind, or 0 for any free port.
+   * @throws IOException If the port cannot be bound.
+   */
+  public FakeGraderServer(int port) throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+    executor = Executors.newCachedThreadPool();
+    server.setExecutor(executor);
+    server.createContext("/aptsec/", this::handleGrader);
+    server.createContext("/newapt/", this::handleProblemPage);
+    server.createContext("/assets/", this::handleAsset);
+    server.start();
+  }
+
+  /**
+   * @return A configuration pointing the crawler at this server.
+   */
+  public CrawlConfig getConfig() {
+    String base = "http://127.0.0.1:" + server.getAddress().getPort();
+    return new CrawlConfig(base + "/aptsec/", base + "/newapt/", CrawlConfig.DEFAULT_LOGIN_TITLE);
+  }
+
+  /**
+   * Adds a problem with its skeleton and the rows of {@code table.border} returned for each upload.
+   *
+   * @param name       The problem name, matched case-insensitively.
+   * @param skeleton   The Java skeleton shown in the page's {@code <xmp>} tag.
+   * @param resultRows The {@code <tr>} elements of the results table.
+   */
+  public void addProblem(String name, String skeleton, String resultRows) {
+    problems.put(name.toLowerCase(), new Problem(name, skeleton, resultRows));
+  }
+
+  /**
+   * Builds result rows in the grader's layout: a case number, a status, and a cell holding the
+   * expected value in a {@code <pre>} tag followed by the input that produced it.
+   *
+   * @param failing The number of failing cases.
+   * @param passing The number of passing cases.
+   * @param input   The input text shown for every case.
+   * @param expected The expected value shown for every case.
+   * @return The {@code <tr>} elements.
+   */
+  public static String resultRows(int failing, int passing, String input, String expected) {
+    StringBuilder rows = new StringBuilder("<tr><th>#</th><th>status</th><th>details</th></tr>");
+    for (int i = 0; i < failing + passing; i++) {
+      rows.append("<tr><td>")
+          .append(i)
+          .append("</td><td>")
+          .append(i < failing ? "fail" : "pass")
+          .append("</td><td><pre>")
+          .append(expected)
+          .append("</pre>: ")
+          .append(input)
+          .append("</td></tr>");
+    }
+    return rows.toString();
+  }
+
+  /**
+   * @param millis Delay added to every page and asset response.
+   */
+  public void setPageLatency(long millis) {
+    pageLatency = millis;
+  }
+
+  /**
+   * @param millis Delay before the results of an upload are returned.
+   */
+  public void setGradingLatency(long millis) {
+    gradingLatency = millis;
+  }
+
+  /**
+   * @param count How many images each problem page references.
+   * @param bytes The size of each image, stylesheet and font.
+   */
+  public void setAssets(int count, int bytes) {
+    assetCount = count;
+    assetBytes = bytes;
+  }
+
+  public long getAssetRequests() {
+    return assetRequests.get();
+  }
+
+  public long getSubmissions() {
+    return submissions.get();
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+
+  private void handleGrader(HttpExchange exchange) throws IOException {
+    String path = exchange.getRequestURI().getPath();
+    String method = exchange.getRequestMethod();
+
+    if (method.equals("POST") && path.endsWith("/login")) {
+      drain(exchange.getRequestBody());
+      exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "; Path=/");
+      exchange.getResponseHeaders().add("Location", "/aptsec/");
+      delay(pageLatency);
+      exchange.sendResponseHeaders(303, -1);
+      exchange.close();
+      return;
+    }
+
+    if (method.equals("POST") && path.endsWith("/run")) {
+      String body =
+          new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.ISO_8859_1);
+      Problem problem = problems.get(formValue(body, "problem").toLowerCase());
+      submissions.incrementAndGet();
+      delay(gradingLatency);
+      if (problem == null) {
+        send(exchange, 404, page("Unknown problem", "<p>No such problem.</p>"));
+      } else {
+        send(
+            exchange,
+            200,
+            page(
+                "Results for " + problem.name(),
+                "<table class=\"border\">" + problem.resultRows() + "</table>"));
+      }
+      return;
+    }
+
+    delay(pageLatency);
+    if (!isLoggedIn(exchange)) {
+      send(
+          exchange,
+          200,
+          page(
+              "Login",
+              "<form method=\"post\" action=\"/aptsec/login\">"
+                  + "<input type=\"text\" name=\"j_username\">"
+                  + "<input type=\"password\" name=\"j_password\">"
+                  + "<input type=\"submit\" name=\"Submit\" value=\"Login\">"
+                  + "</form>"));
+      return;
+    }
+
+    StringBuilder list = new StringBuilder();
+    list.append("<h1>").append(CrawlConfig.DEFAULT_LOGIN_TITLE).append("</h1>");
+    for (Problem problem : problems.values()) {
+      list.append("<form method=\"post\" action=\"/aptsec/run\" enctype=\"multipart/form-data\">")
+          .append("<input type=\"radio\" name=\"problem\" value=\"")
+          .append(problem.name().toLowerCase())
+          .append("\">")
+          .append(problem.name())
+          .append(" <input type=\"file\" name=\"upload\">")
+          .append(" <input type=\"submit\" value=\"test/run\">")
+          .append("</form>");
+    }
+    send(exchange, 200, page("APT Grading", list.toString()));
+  }
+
+  private void handleProblemPage(HttpExchange exchange) throws IOException {
+    delay(pageLatency);
+    String path = exchange.getRequestURI().getPath();
+    String name = path.substring(path.lastIndexOf('/') + 1).replace(".html", "");
+    Problem problem = problems.get(name.toLowerCase());
+    if (problem == null) {
+      send(exchange, 404, page("Not found", "<p>No such problem.</p>"));
+      return;
+    }
+
+    StringBuilder body = new StringBuilder();
+    body.append("<h2>").append(problem.name()).append("</h2>");
+    for (int i = 0; i < assetCount; i++) {
+      body.append("<img src=\"/assets/figure").append(i).append(".png\">");
+    }
+    body.append("<xmp>").append(problem.skeleton()).append("</xmp>");
+    send(exchange, 200, page(problem.name(), body.toString()));
+  }
+
+  private void handleAsset(HttpExchange exchange) throws IOException {
+    assetRequests.incrementAndGet();
+    delay(pageLatency);
+    String path = exchange.getRequestURI().getPath();
+    String contentType;
+    byte[] body;
+    if (path.endsWith(".css")) {
+      contentType = "text/css";
+      body =
+          ("@font-face { font-family: Fake; src: url(/assets/font.woff2); }"
+                  + " body { font-family: Fake; }"
+                  + " /*"
+                  + " ".repeat(assetBytes)
+                  + "*/")
+              .getBytes(StandardCharsets.UTF_8);
+    } else if (path.endsWith(".woff2")) {
+      contentType = "font/woff2";
+      body = new byte[assetBytes];
+    } else {
+      contentType = "image/png";
+      body = new byte[assetBytes];
+    }
+    exchange.getResponseHeaders().add("Content-Type", contentType);
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  private static boolean isLoggedIn(HttpExchange exchange) {
+    String cookie = exchange.getRequestHeaders().getFirst("Cookie");
+    return cookie != null && cookie.contains(SESSION_COOKIE);
+  }
+
+  /**
+   * Finds the value of a simple field in a multipart form body.
+   *
+   * @param body The request body.
+   * @param name The field name.
+   * @return The field's value, or an empty string if it is absent.
+   */
+  private static String formValue(String body, String name) {
+    String marker = "name=\"" + name + "\"";
+    int start = body.indexOf(marker);
+    if (start < 0) {
+      return "";
+    }
+    start = body.indexOf("\r\n\r\n", start);
+    if (start < 0) {
+      return "";
+    }
+    start += 4;
+    int end = body.indexOf("\r\n", start);
+    return end < 0 ? body.substring(start) : body.substring(start, end);
+  }
+
+  private static String page(String title, String body) {
+    return "<!DOCTYPE html><html><head><title>"
+        + title
+        + "</title><link rel=\"stylesheet\" href=\"/assets/style.css\"></head><body>"
+        + body
+        + "</body></html>";
+  }
+
+  private static void send(HttpExchange exchange, int status, String html) throws IOException {
+    byte[] body = html.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+    exchange.sendResponseHeaders(status, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  private static void drain(InputStream in) throws IOException {
+    in.transferTo(OutputStream.nullOutputStream());
+  }
+
+  private static void delay(long millis) {
+    if (millis <= 0) {
+      return;
+    }
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
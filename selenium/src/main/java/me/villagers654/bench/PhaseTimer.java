@@ -0,0 +1,83 @@
+package me.villagers654.bench;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/** Collects wall-clock durations per named phase and summarizes them. */
+public class PhaseTimer {
+  private final Map<String, List<Long>> samples = new LinkedHashMap<>();
+
+  /** A step that may throw. */
+  @FunctionalInterface
+  public interface Step {
+    void run() throws Exception;
+  }
+
+  /**
+   * Runs a step and records how long it took.
+   *
+   * @param phase The phase name.
+   * @param step  The work to time.
+   * @throws Exception Whatever the step throws.
+   */
+  public void time(String phase, Step step) throws Exception {
+    time(
+        phase,
+        () -> {
+          step.run();
+          return null;
+        });
+  }
+
+  /**
+   * Runs a step and records how long it took.
+   *
+   * @param phase The phase name.
+   * @param step  The work to time.
+   * @return The step's result.
+   * @throws Exception Whatever the step throws.
+   */
+  public <T> T time(String phase, Callable<T> step) throws Exception {
+    long start = System.nanoTime();
+    try {
+      return step.call();
+    } finally {
+      record(phase, System.nanoTime() - start);
+    }
+  }
+
+  public synchronized void record(String phase, long nanos) {
+    samples.computeIfAbsent(phase, k -> new ArrayList<>()).add(nanos);
+  }
+
+  /**
+   * @return One line per phase with the sample count and mean, median and maximum in milliseconds.
+   */
+  public synchronized String summary() {
+    StringBuilder out = new StringBuilder();
+    out.append(
+        String.format(
+            "%-12s %6s %10s %10s %10s%n", "phase", "count", "mean ms", "p50 ms", "max ms"));
+    for (Map.Entry<String, List<Long>> entry : samples.entrySet()) {
+      long[] values = entry.getValue().stream().mapToLong(Long::longValue).toArray();
+      Arrays.sort(values);
+      long total = 0;
+      for (long value : values) {
+        total += value;
+      }
+      out.append(
+          String.format(
+              "%-12s %6d %10.1f %10.1f %10.1f%n",
+              entry.getKey(),
+              values.length,
+              total / 1e6 / values.length,
+              values[values.length / 2] / 1e6,
+              values[values.length - 1] / 1e6));
+    }
+    return out.toString();
+  }
+}
@@ -0,0 +1,37 @@
+package me.villagers654.bench;
+
+import java.io.IOException;
+import me.villagers654.CrawlConfig;
+import me.villagers654.NavigationProfile;
+import me.villagers654.PolitenessScheduler;
+import org.openqa.selenium.By;
+import org.openqa.selenium.PageLoadStrategy;
+
+/**
+ * Training run for the crawler jar's class-data-sharing archive: the offline paths of
+ * {@link CdsTraining}, plus the Selenium options, locators and crawl settings the crawler builds
+ * before its first browser session. No browser is started.
+ *
+ * <p>Usage: {@code SeleniumCdsTraining}. Prints one summary line once training has finished.
+ */
+public class SeleniumCdsTraining {
+
+  public static void main(String[] args) throws IOException {
+    long start = System.nanoTime();
+    CdsTraining.run();
+
+    CrawlConfig.fromSystemProperties();
+    PolitenessScheduler.fromSystemProperties();
+    for (PageLoadStrategy strategy : PageLoadStrategy.values()) {
+      NavigationProfile profile = new NavigationProfile(strategy, true);
+      profile.firefoxOptions();
+      profile.chromeOptions();
+      profile.edgeOptions();
+      profile.safariOptions();
+    }
+    By.xpath("//input[@type='radio']");
+    By.cssSelector("table.border tr");
+
+    System.out.printf("Trained crawler paths in %.1f ms%n", (System.nanoTime() - start) / 1e6);
+  }
+}